@@ -0,0 +1,146 @@
+package io.github.akk0448.mtm.audit.benchmark;
+
+import io.github.akk0448.mtm.audit.context.AuditContextProvider;
+import io.github.akk0448.mtm.audit.context.AuditorAwareContextProvider;
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.enums.AuditWriteMode;
+import io.github.akk0448.mtm.audit.events.AuditEventPublisher;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditEvent;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.events.ManyToManyJoinColumn;
+import io.github.akk0448.mtm.audit.listeners.ManyToManyAssociationListener;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import io.github.akk0448.mtm.audit.utils.AuditUtils;
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Benchmarks the audit capture path on synthetic Envers maps, without a database.
+ * {@code keyColumns} is the number of join columns on each side of the association.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditCaptureBenchmark {
+
+    private static final String AUDIT_ENTITY_NAME = "user_roles_aud";
+    private static final String AUDIT_TABLE_NAME = "user_roles_audit";
+
+    @Param({"1", "2", "4"})
+    private int keyColumns;
+
+    private AuditContextProvider contextProvider;
+    private ManyToManyAssociationListener listener;
+    private PostInsertEvent postInsertEvent;
+    private Map<String, Object> record;
+    private AuditManyToManyAssociationMetadata metadata;
+    private AuditJoinColumn[] joinColumns;
+    private Object[] keyValues;
+    private ManyToManyAuditRecord auditRecord;
+    private Object publishedEvent;
+
+    @Setup
+    public void setUp() {
+        joinColumns = auditJoinColumns("user_id", "user_", keyColumns);
+        AuditJoinColumn[] inverseJoinColumns = auditJoinColumns("role_id", "roles_", keyColumns);
+        metadata = new AuditManyToManyAssociationMetadata(AUDIT_TABLE_NAME, joinColumns, inverseJoinColumns);
+
+        DefaultRevisionEntity revision = new DefaultRevisionEntity();
+        revision.setId(1);
+        revision.setTimestamp(System.currentTimeMillis());
+
+        record = new HashMap<>();
+        record.put("REV_ID", revision);
+        for (int i = 0; i < keyColumns; i++) {
+            record.put(joinColumns[i].auditColumnName(), (long) i + 1);
+            record.put(inverseJoinColumns[i].auditColumnName(), (long) i + 100);
+        }
+
+        Map<String, Object> entity = new HashMap<>();
+        entity.put("originalId", record);
+        entity.put("REV_TYPE", RevisionType.ADD);
+
+        ManyToManyAuditScanner scanner = new ManyToManyAuditScanner() {
+            private final Map<String, AuditManyToManyAssociationMetadata> associations =
+                    Map.of(AUDIT_ENTITY_NAME, metadata);
+
+            @Override
+            public Map<String, AuditManyToManyAssociationMetadata> getAuditAssociationMetadata() {
+                return associations;
+            }
+        };
+        AuditEventPublisher publisher = new AuditEventPublisher(event -> publishedEvent = event);
+
+        contextProvider = new AuditorAwareContextProvider(() -> Optional.of("benchmark"));
+        EntityPersister persister = persister(AUDIT_ENTITY_NAME);
+        listener = new ManyToManyAssociationListener(scanner, publisher, record -> publishedEvent = record, null, null,
+                AuditWriteMode.PER_EVENT, false, false, AuditMetrics.NOOP, contextProvider);
+        listener.resolvePersisters(entityName -> persister);
+        postInsertEvent = new PostInsertEvent(entity, 1L, new Object[0], persister, null);
+        keyValues = AuditUtils.getKeyValues(record, metadata);
+        auditRecord = new ManyToManyAuditRecord(metadata, AuditAction.INSERT, keyValues, 1_700_000_000_000L, "benchmark");
+    }
+
+    @Benchmark
+    public Object onPostInsert() {
+        listener.onPostInsert(postInsertEvent);
+        return publishedEvent;
+    }
+
+    @Benchmark
+    public ManyToManyJoinColumn[] getColumnData() {
+        return AuditUtils.getColumnData(record, joinColumns);
+    }
+
+    @Benchmark
+    public Object[] getKeyValues() {
+        return AuditUtils.getKeyValues(record, metadata);
+    }
+
+    @Benchmark
+    public ManyToManyAuditRecord createAuditRecord() {
+        return new ManyToManyAuditRecord(metadata, AuditAction.INSERT, keyValues, 1_700_000_000_000L,
+                contextProvider.getCurrentAuditor());
+    }
+
+    @Benchmark
+    public ManyToManyAuditEvent toAuditEvent() {
+        return auditRecord.toEvent();
+    }
+
+    private static AuditJoinColumn[] auditJoinColumns(String columnPrefix, String propertyPrefix, int count) {
+        AuditJoinColumn[] columns = new AuditJoinColumn[count];
+        for (int i = 0; i < count; i++) {
+            columns[i] = new AuditJoinColumn(columnPrefix + i, propertyPrefix + "id" + i, Long.class);
+        }
+        return columns;
+    }
+
+    private static EntityPersister persister(String entityName) {
+        return (EntityPersister) Proxy.newProxyInstance(EntityPersister.class.getClassLoader(),
+                new Class<?>[]{EntityPersister.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getEntityName" -> entityName;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "EntityPersister(" + entityName + ")";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package io.github.akk0448.mtm.audit.benchmark;
+
+import io.github.akk0448.mtm.audit.context.AuditContextProvider;
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import io.github.akk0448.mtm.audit.service.ManyToManyAuditService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of {@link ManyToManyAuditService#persistAuditEntity} against
+ * an embedded H2 database, including the new transaction opened per audit record.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuditPersistBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ManyToManyAuditService auditService;
+    private ManyToManyAuditRecord record;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:mtm-audit-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.properties.org.hibernate.envers.audit_table_suffix=_aud",
+                        "spring.jpa.properties.org.hibernate.envers.revision_field_name=REV_ID",
+                        "spring.jpa.properties.org.hibernate.envers.revision_type_field_name=REV_TYPE",
+                        "logging.level.root=WARN")
+                .run();
+        auditService = context.getBean(ManyToManyAuditService.class);
+        AuditManyToManyAssociationMetadata metadata = context.getBean(ManyToManyAuditScanner.class)
+                .getAuditTableMetadata().get("user_roles_audit");
+        record = new ManyToManyAuditRecord(metadata, AuditAction.INSERT, new Object[]{1L, 2L},
+                System.currentTimeMillis(), context.getBean(AuditContextProvider.class).getCurrentAuditor());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void persistAuditEntity() {
+        auditService.persistAuditEntity(record);
+    }
+}
\ No newline at end of file
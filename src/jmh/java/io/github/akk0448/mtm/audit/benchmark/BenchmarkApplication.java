@@ -0,0 +1,47 @@
+package io.github.akk0448.mtm.audit.benchmark;
+
+import io.github.akk0448.mtm.audit.annotations.AuditManyToManyAssociation;
+import org.hibernate.envers.Audited;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+import javax.persistence.*;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Minimal application with one audited Many-to-Many association, used by the
+ * end-to-end benchmarks.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@SpringBootApplication
+public class BenchmarkApplication {
+
+    @Entity
+    @Table(name = "users")
+    @Audited
+    @AuditManyToManyAssociation
+    public static class User {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @ManyToMany
+        @JoinTable(name = "user_roles",
+                joinColumns = @JoinColumn(name = "user_id"),
+                inverseJoinColumns = @JoinColumn(name = "role_id"))
+        private Set<Role> roles = new HashSet<>();
+    }
+
+    @Entity
+    @Table(name = "roles")
+    @Audited
+    public static class Role {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+    }
+}
\ No newline at end of file
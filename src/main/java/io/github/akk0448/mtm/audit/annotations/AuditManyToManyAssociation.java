@@ -1,5 +1,7 @@
 package io.github.akk0448.mtm.audit.annotations;
 
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -9,10 +11,21 @@ import java.lang.annotation.Target;
  * Marks entities with Many-to-Many associations for automated audit tracking.
  * Applied to the owning side of Many-to-Many relationships.
  *
+ * <p>On the entity every {@code @ManyToMany @JoinTable} field is audited. When the
+ * annotation is also placed on association fields of the entity, only those fields
+ * are audited, each with its own {@link #actions()}.</p>
+ *
  * @author Aniket Kumar
  * @since 1.0.0
  */
-@Target(ElementType.TYPE)
+@Target({ElementType.TYPE, ElementType.FIELD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface AuditManyToManyAssociation {
+
+    /**
+     * Audit actions captured for the annotated associations. An empty value audits nothing.
+     *
+     * @since 1.1.0
+     */
+    AuditAction[] actions() default {AuditAction.INSERT, AuditAction.UPDATE, AuditAction.DELETE};
 }
\ No newline at end of file
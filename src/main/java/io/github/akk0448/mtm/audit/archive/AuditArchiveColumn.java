@@ -0,0 +1,133 @@
+package io.github.akk0448.mtm.audit.archive;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Values of one audit column within an archive segment, with their minimum and maximum.
+ * Values are held in one of three storage kinds: integral numbers as {@code Long},
+ * date-times as {@code LocalDateTime}, and anything else as its {@code String} form.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+final class AuditArchiveColumn {
+
+    enum Kind {
+        LONG, STRING, TIMESTAMP;
+
+        static Kind of(Class<?> type) {
+            if (type == Long.class || type == long.class || type == Integer.class || type == int.class
+                    || type == Short.class || type == short.class) {
+                return LONG;
+            }
+            if (type == LocalDateTime.class || Date.class.isAssignableFrom(type)) {
+                return TIMESTAMP;
+            }
+            return STRING;
+        }
+    }
+
+    private final String name;
+    private final Kind kind;
+    private final List<Object> values = new ArrayList<>();
+    private Object min;
+    private Object max;
+
+    AuditArchiveColumn(String name, Kind kind) {
+        this.name = name;
+        this.kind = kind;
+    }
+
+    String name() {
+        return name;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    List<Object> values() {
+        return values;
+    }
+
+    Object min() {
+        return min;
+    }
+
+    Object max() {
+        return max;
+    }
+
+    void add(Object value) {
+        Object normalized = normalize(kind, value);
+        values.add(normalized);
+        if (normalized == null) return;
+
+        if (min == null || compare(normalized, min) < 0) min = normalized;
+        if (max == null || compare(normalized, max) > 0) max = normalized;
+    }
+
+    /**
+     * Converts a value to the storage form of the given kind.
+     */
+    static Object normalize(Kind kind, Object value) {
+        if (value == null) return null;
+        return switch (kind) {
+            case LONG -> value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+            case STRING -> value.toString();
+            case TIMESTAMP -> {
+                if (value instanceof LocalDateTime dateTime) yield dateTime;
+                if (value instanceof Timestamp timestamp) yield timestamp.toLocalDateTime();
+                yield LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneOffset.UTC);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static int compare(Object left, Object right) {
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+
+    static void writeValue(Kind kind, Object value, DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value == null) return;
+
+        switch (kind) {
+            case LONG -> out.writeLong((Long) value);
+            case STRING -> out.writeUTF((String) value);
+            case TIMESTAMP -> {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(dateTime.getNano());
+            }
+        }
+    }
+
+    static Object readValue(Kind kind, DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+
+        return switch (kind) {
+            case LONG -> in.readLong();
+            case STRING -> in.readUTF();
+            case TIMESTAMP -> LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        };
+    }
+
+    static Kind readKind(DataInputStream in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        Kind[] kinds = Kind.values();
+        if (ordinal >= kinds.length) {
+            throw new StreamCorruptedException("Unknown archive column kind: " + ordinal);
+        }
+        return kinds[ordinal];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package io.github.akk0448.mtm.audit.archive;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.enums.AuditAssociationSide;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditEvent;
+import io.github.akk0448.mtm.audit.events.ManyToManyJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.query.AuditHistoryEntry;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Reads archived audit history from the segment files written by {@link AuditArchiver}.
+ * Segments whose column statistics rule out the requested key are skipped without
+ * decompressing their column blocks.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+public class AuditArchiveReader {
+
+    private final ManyToManyAuditScanner auditScanner;
+    private final Path directory;
+
+    public AuditArchiveReader(ManyToManyAuditScanner auditScanner, Path directory) {
+        this.auditScanner = auditScanner;
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the archived history of an association key, ordered by creation time and id.
+     * Key values are compared in their archived form: integral keys as numbers and other
+     * keys by their string form.
+     *
+     * @param tableName the audit table name
+     * @param side the association side the key belongs to
+     * @param keyValues key column values, in the order of that side's join columns
+     * @return the archived rows of the key
+     * @throws IOException if a segment cannot be read
+     */
+    public List<AuditHistoryEntry> findHistory(String tableName, AuditAssociationSide side, Object[] keyValues)
+            throws IOException {
+        AuditManyToManyAssociationMetadata metadata = auditScanner.getAuditTableMetadata().get(tableName);
+        if (metadata == null) {
+            throw new IllegalArgumentException("Unknown audit table [" + tableName + "]");
+        }
+        AuditJoinColumn[] keyColumns = side == AuditAssociationSide.OWNING
+                ? metadata.joinColumns()
+                : metadata.inverseJoinColumns();
+        if (keyValues.length != keyColumns.length) {
+            throw new IllegalArgumentException("Expected " + keyColumns.length + " key values for "
+                    + side + " side of [" + tableName + "], got " + keyValues.length);
+        }
+
+        Path tableDirectory = directory.resolve(metadata.tableName());
+        if (!Files.isDirectory(tableDirectory)) {
+            return List.of();
+        }
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(tableDirectory)) {
+            segments = files
+                    .filter(path -> path.getFileName().toString().endsWith(AuditArchiveSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        Map<Long, AuditHistoryEntry> entries = new HashMap<>();
+        int skipped = 0;
+        for (Path path : segments) {
+            AuditArchiveSegment segment = AuditArchiveSegment.open(path);
+            Object[] storedKey = storedKey(segment, keyColumns, keyValues);
+            if (storedKey == null) {
+                skipped++;
+                continue;
+            }
+            collectMatches(segment, metadata, keyColumns, storedKey, entries);
+        }
+        log.debug("Scanned {} of {} archive segments of [{}]", segments.size() - skipped, segments.size(), tableName);
+
+        List<AuditHistoryEntry> history = new ArrayList<>(entries.values());
+        history.sort(Comparator.comparing((AuditHistoryEntry entry) -> entry.event().createdOn(),
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingLong(AuditHistoryEntry::id));
+        return history;
+    }
+
+    /**
+     * Returns the key in the segment's storage form, or {@code null} when the column
+     * statistics show the segment cannot contain it.
+     */
+    private static Object[] storedKey(AuditArchiveSegment segment, AuditJoinColumn[] keyColumns, Object[] keyValues) {
+        Object[] storedKey = new Object[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; i++) {
+            AuditArchiveSegment.ColumnInfo column = segment.column(keyColumns[i].columnName());
+            if (column == null) return null;
+
+            storedKey[i] = AuditArchiveColumn.normalize(column.kind(), keyValues[i]);
+            if (storedKey[i] == null || !column.mayContain(storedKey[i])) return null;
+        }
+        return storedKey;
+    }
+
+    /**
+     * Adds the rows of the segment matching the key. Rows archived twice after an
+     * interrupted run are kept once.
+     */
+    private static void collectMatches(AuditArchiveSegment segment, AuditManyToManyAssociationMetadata metadata,
+                                       AuditJoinColumn[] keyColumns, Object[] storedKey,
+                                       Map<Long, AuditHistoryEntry> entries) throws IOException {
+        Map<String, Object[]> columns = segment.readColumns();
+        Object[][] keys = new Object[keyColumns.length][];
+        for (int i = 0; i < keyColumns.length; i++) {
+            keys[i] = columns.get(keyColumns[i].columnName());
+        }
+
+        Object[] ids = columns.get("id");
+        for (int row = 0; row < segment.rowCount(); row++) {
+            if (!matches(keys, storedKey, row)) continue;
+
+            LocalDateTime createdOn = (LocalDateTime) columns.get("created_on")[row];
+            LocalDateTime updatedOn = (LocalDateTime) columns.get("updated_on")[row];
+            ManyToManyAuditEvent event = new ManyToManyAuditEvent(
+                    joinColumns(columns, metadata.joinColumns(), row),
+                    joinColumns(columns, metadata.inverseJoinColumns(), row),
+                    AuditAction.valueOf((String) columns.get("action")[row]), metadata.tableName(),
+                    createdOn, (String) columns.get("created_by")[row],
+                    updatedOn, (String) columns.get("updated_by")[row]
+            );
+            long id = (Long) ids[row];
+            entries.put(id, new AuditHistoryEntry(id, event));
+        }
+    }
+
+    private static boolean matches(Object[][] keys, Object[] storedKey, int row) {
+        for (int i = 0; i < keys.length; i++) {
+            if (!storedKey[i].equals(keys[i][row])) return false;
+        }
+        return true;
+    }
+
+    private static ManyToManyJoinColumn[] joinColumns(Map<String, Object[]> columns, AuditJoinColumn[] joinColumns, int row) {
+        ManyToManyJoinColumn[] values = new ManyToManyJoinColumn[joinColumns.length];
+        for (int i = 0; i < joinColumns.length; i++) {
+            values[i] = new ManyToManyJoinColumn(joinColumns[i].columnName(), columns.get(joinColumns[i].columnName())[row]);
+        }
+        return values;
+    }
+}
\ No newline at end of file
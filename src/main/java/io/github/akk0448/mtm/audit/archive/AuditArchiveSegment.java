@@ -0,0 +1,179 @@
+package io.github.akk0448.mtm.audit.archive;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Column-oriented archive file holding a chunk of rows of one audit table.
+ *
+ * <p>Layout: {@code [int magic][byte version][int headerLength][header][column blocks]}.
+ * The header holds the table name, the row count and, per column, its name, storage
+ * kind, minimum and maximum value and the length of its block. Each column block is
+ * the deflate-compressed sequence of that column's values, so the header alone is
+ * enough to decide whether a segment can hold a given key.</p>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+final class AuditArchiveSegment {
+
+    static final String SUFFIX = ".mtma";
+
+    private static final int MAGIC = 0x4D544D41;
+    private static final byte VERSION = 1;
+    private static final int PREAMBLE_BYTES = 9;
+
+    private final Path path;
+    private final String tableName;
+    private final int rowCount;
+    private final Map<String, ColumnInfo> columns;
+    private final int dataOffset;
+
+    private AuditArchiveSegment(Path path, String tableName, int rowCount, Map<String, ColumnInfo> columns,
+                                int dataOffset) {
+        this.path = path;
+        this.tableName = tableName;
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.dataOffset = dataOffset;
+    }
+
+    /**
+     * Statistics and block length of one column.
+     */
+    record ColumnInfo(String name, AuditArchiveColumn.Kind kind, Object min, Object max, int blockLength) {
+
+        /**
+         * Returns whether the column may contain the given storage-form value.
+         */
+        boolean mayContain(Object value) {
+            return min != null && AuditArchiveColumn.compare(value, min) >= 0
+                    && AuditArchiveColumn.compare(value, max) <= 0;
+        }
+    }
+
+    String tableName() {
+        return tableName;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    ColumnInfo column(String name) {
+        return columns.get(name);
+    }
+
+    /**
+     * Writes a segment to a temporary file, forces it to disk and moves it into place,
+     * so a segment either exists complete and durable or not at all.
+     */
+    static void write(Path target, String tableName, int rowCount, List<AuditArchiveColumn> columns) throws IOException {
+        List<byte[]> blocks = new ArrayList<>(columns.size());
+        for (AuditArchiveColumn column : columns) {
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(block))) {
+                for (Object value : column.values()) {
+                    AuditArchiveColumn.writeValue(column.kind(), value, out);
+                }
+            }
+            blocks.add(block.toByteArray());
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerOut = new DataOutputStream(header);
+        headerOut.writeUTF(tableName);
+        headerOut.writeInt(rowCount);
+        headerOut.writeShort(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            AuditArchiveColumn column = columns.get(i);
+            headerOut.writeUTF(column.name());
+            headerOut.writeByte(column.kind().ordinal());
+            AuditArchiveColumn.writeValue(column.kind(), column.min(), headerOut);
+            AuditArchiveColumn.writeValue(column.kind(), column.max(), headerOut);
+            headerOut.writeInt(blocks.get(i).length);
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(header.size());
+            header.writeTo(out);
+            for (byte[] block : blocks) {
+                out.write(block);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(target.getParent());
+    }
+
+    /**
+     * Reads the header of a segment, leaving its column blocks on disk.
+     */
+    static AuditArchiveSegment open(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new StreamCorruptedException("Not an audit archive segment: " + path);
+            }
+            int headerLength = in.readInt();
+
+            String tableName = in.readUTF();
+            int rowCount = in.readInt();
+            int columnCount = in.readUnsignedShort();
+            Map<String, ColumnInfo> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                String name = in.readUTF();
+                AuditArchiveColumn.Kind kind = AuditArchiveColumn.readKind(in);
+                Object min = AuditArchiveColumn.readValue(kind, in);
+                Object max = AuditArchiveColumn.readValue(kind, in);
+                columns.put(name, new ColumnInfo(name, kind, min, max, in.readInt()));
+            }
+            return new AuditArchiveSegment(path, tableName, rowCount, columns, PREAMBLE_BYTES + headerLength);
+        }
+    }
+
+    /**
+     * Reads and decompresses every column block, keyed by column name.
+     */
+    Map<String, Object[]> readColumns() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        Map<String, Object[]> values = new LinkedHashMap<>();
+        int position = dataOffset;
+        for (ColumnInfo column : columns.values()) {
+            InputStream block = new ByteArrayInputStream(bytes, position, column.blockLength());
+            try (DataInputStream in = new DataInputStream(new InflaterInputStream(block))) {
+                Object[] columnValues = new Object[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    columnValues[row] = AuditArchiveColumn.readValue(column.kind(), in);
+                }
+                values.put(column.name(), columnValues);
+            }
+            position += column.blockLength();
+        }
+        return values;
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory for syncing; the file itself is already durable.
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package io.github.akk0448.mtm.audit.archive;
+
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves audit rows older than the retention period from the audit tables into
+ * compressed column-oriented segment files, one directory per audit table.
+ *
+ * <p>Rows are read in primary key order, {@code chunkSize} at a time. Each chunk is
+ * written to its own segment and forced to disk before its rows are deleted by id, in
+ * batches of at most {@code deleteBatchSize} ids. A crash between the two steps
+ * leaves the rows in the table, to be archived again on the next run.</p>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+public class AuditArchiver implements SmartInitializingSingleton {
+
+    private final ManyToManyAuditScanner auditScanner;
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final int chunkSize;
+    private final int deleteBatchSize;
+    private final Period retention;
+    private final Duration archiveInterval;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mtm-audit-archive-"));
+
+    public AuditArchiver(ManyToManyAuditScanner auditScanner, JdbcTemplate jdbcTemplate, Path directory,
+                         int chunkSize, int deleteBatchSize, Period retention, Duration archiveInterval) {
+        this.auditScanner = auditScanner;
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.deleteBatchSize = deleteBatchSize;
+        this.retention = retention;
+        this.archiveInterval = archiveInterval;
+    }
+
+    /**
+     * Starts the first archive run right away, then one every {@code archiveInterval},
+     * so rows past retention are not kept for a full interval after each restart.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler.scheduleWithFixedDelay(this::runArchive, 0, archiveInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Archives every audit row created before the cutoff.
+     *
+     * @param cutoff rows with an earlier {@code created_on} are archived, in UTC
+     * @return the number of rows archived
+     */
+    public long archive(LocalDateTime cutoff) {
+        long archived = 0;
+        for (AuditManyToManyAssociationMetadata metadata : auditScanner.getAuditAssociationMetadata().values()) {
+            try {
+                archived += archiveTable(metadata, cutoff);
+            } catch (Exception e) {
+                log.error("Failed to archive audit table [{}]: {}", metadata.tableName(), e.getMessage(), e);
+            }
+        }
+        return archived;
+    }
+
+    private long archiveTable(AuditManyToManyAssociationMetadata metadata, LocalDateTime cutoff) throws IOException {
+        Path tableDirectory = directory.resolve(metadata.tableName());
+        Files.createDirectories(tableDirectory);
+
+        String selectQuery = selectQuery(metadata);
+        long archived = 0;
+        long lastId = Long.MIN_VALUE;
+
+        while (true) {
+            long afterId = lastId;
+            List<AuditArchiveColumn> columns = columns(metadata);
+            List<Long> ids = new ArrayList<>(chunkSize);
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(selectQuery);
+                statement.setMaxRows(chunkSize);
+                statement.setObject(1, cutoff);
+                statement.setLong(2, afterId);
+                return statement;
+            }, rs -> {
+                ids.add(rs.getLong(1));
+                readRow(rs, columns);
+            });
+
+            if (ids.isEmpty()) {
+                return archived;
+            }
+
+            long firstId = ids.get(0);
+            lastId = ids.get(ids.size() - 1);
+            Path segment = tableDirectory.resolve(String.format("%019d-%019d%s", firstId, lastId, AuditArchiveSegment.SUFFIX));
+            AuditArchiveSegment.write(segment, metadata.tableName(), ids.size(), columns);
+
+            for (int from = 0; from < ids.size(); from += deleteBatchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + deleteBatchSize, ids.size()));
+                jdbcTemplate.update(deleteQuery(metadata, batch.size()), batch.toArray());
+            }
+
+            archived += ids.size();
+            log.debug("Archived {} rows of audit table [{}] to {}", ids.size(), metadata.tableName(), segment);
+        }
+    }
+
+    private static String selectQuery(AuditManyToManyAssociationMetadata metadata) {
+        StringBuilder sql = new StringBuilder("SELECT id");
+        for (AuditJoinColumn col : metadata.joinColumns()) {
+            sql.append(", ").append(col.columnName());
+        }
+        for (AuditJoinColumn col : metadata.inverseJoinColumns()) {
+            sql.append(", ").append(col.columnName());
+        }
+        return sql.append(", action, created_by, created_on, updated_by, updated_on FROM ")
+                .append(metadata.tableName())
+                .append(" WHERE created_on < ? AND id > ? ORDER BY id")
+                .toString();
+    }
+
+    /**
+     * Deletes the given number of rows by id, so rows inserted into the archived id range
+     * after the chunk was read are left in place.
+     */
+    private static String deleteQuery(AuditManyToManyAssociationMetadata metadata, int idCount) {
+        return "DELETE FROM " + metadata.tableName() + " WHERE id IN ("
+                + String.join(", ", Collections.nCopies(idCount, "?")) + ")";
+    }
+
+    /**
+     * Returns empty columns in the order of the select list.
+     */
+    private static List<AuditArchiveColumn> columns(AuditManyToManyAssociationMetadata metadata) {
+        List<AuditArchiveColumn> columns = new ArrayList<>();
+        columns.add(new AuditArchiveColumn("id", AuditArchiveColumn.Kind.LONG));
+        for (AuditJoinColumn col : metadata.joinColumns()) {
+            columns.add(new AuditArchiveColumn(col.columnName(), AuditArchiveColumn.Kind.of(col.columnClassType())));
+        }
+        for (AuditJoinColumn col : metadata.inverseJoinColumns()) {
+            columns.add(new AuditArchiveColumn(col.columnName(), AuditArchiveColumn.Kind.of(col.columnClassType())));
+        }
+        columns.add(new AuditArchiveColumn("action", AuditArchiveColumn.Kind.STRING));
+        columns.add(new AuditArchiveColumn("created_by", AuditArchiveColumn.Kind.STRING));
+        columns.add(new AuditArchiveColumn("created_on", AuditArchiveColumn.Kind.TIMESTAMP));
+        columns.add(new AuditArchiveColumn("updated_by", AuditArchiveColumn.Kind.STRING));
+        columns.add(new AuditArchiveColumn("updated_on", AuditArchiveColumn.Kind.TIMESTAMP));
+        return columns;
+    }
+
+    private static void readRow(ResultSet rs, List<AuditArchiveColumn> columns) throws SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            AuditArchiveColumn column = columns.get(i);
+            column.add(column.kind() == AuditArchiveColumn.Kind.TIMESTAMP
+                    ? rs.getObject(i + 1, LocalDateTime.class)
+                    : rs.getObject(i + 1));
+        }
+    }
+
+    private void runArchive() {
+        try {
+            long archived = archive(LocalDateTime.now(ZoneOffset.UTC).minus(retention));
+            if (archived > 0) {
+                log.info("Archived {} audit rows", archived);
+            }
+        } catch (Exception e) {
+            log.error("Audit archival failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
\ No newline at end of file
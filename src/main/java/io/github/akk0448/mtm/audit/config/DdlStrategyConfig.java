@@ -3,6 +3,7 @@ package io.github.akk0448.mtm.audit.config;
 import io.github.akk0448.mtm.audit.ddl.DdlGenerationStrategy;
 import io.github.akk0448.mtm.audit.ddl.H2DdlGenerationStrategy;
 import io.github.akk0448.mtm.audit.ddl.MySqlDdlGenerationStrategy;
+import io.github.akk0448.mtm.audit.ddl.PostgreSqlDdlGenerationStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -37,7 +38,8 @@ public class DdlStrategyConfig {
 
         Map<String, DdlGenerationStrategy> strategies = Map.of(
                 "mysql", new MySqlDdlGenerationStrategy(),
-                "h2", new H2DdlGenerationStrategy()
+                "h2", new H2DdlGenerationStrategy(),
+                "postgres", new PostgreSqlDdlGenerationStrategy()
         );
 
         return strategies.entrySet().stream()
@@ -26,7 +26,8 @@ public class HibernateEventListenerConfig {
     private ManyToManyAssociationListener manyToManyAssociationListener;
 
     /**
-     * Registers Many-to-Many association listener with Hibernate event system.
+     * Registers Many-to-Many association listener with Hibernate event system, after
+     * resolving the persisters it matches events against.
      */
     @PostConstruct
     public void registerListeners() {
@@ -35,6 +36,7 @@ public class HibernateEventListenerConfig {
                 .getServiceRegistry()
                 .getService(EventListenerRegistry.class);
 
+        manyToManyAssociationListener.resolvePersisters(sessionFactory.getMetamodel()::entityPersister);
         registry.getEventListenerGroup(EventType.POST_INSERT).appendListener(manyToManyAssociationListener);
     }
 }
\ No newline at end of file
@@ -1,16 +1,46 @@
 package io.github.akk0448.mtm.audit.config;
 
+import io.github.akk0448.mtm.audit.archive.AuditArchiveReader;
+import io.github.akk0448.mtm.audit.archive.AuditArchiver;
+import io.github.akk0448.mtm.audit.context.AuditContextProvider;
+import io.github.akk0448.mtm.audit.context.AuditorAwareContextProvider;
+import io.github.akk0448.mtm.audit.context.SecurityContextAuditorAware;
 import io.github.akk0448.mtm.audit.ddl.AuditTableCreator;
 import io.github.akk0448.mtm.audit.ddl.DdlGenerationStrategy;
 import io.github.akk0448.mtm.audit.events.AuditEventPublisher;
 import io.github.akk0448.mtm.audit.listeners.ManyToManyAssociationListener;
 import io.github.akk0448.mtm.audit.listeners.ManyToManyAuditEventListener;
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
+import io.github.akk0448.mtm.audit.partition.AuditPartitionMaintainer;
+import io.github.akk0448.mtm.audit.partition.AuditPartitionScheme;
 import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import io.github.akk0448.mtm.audit.service.ManyToManyAuditQueryService;
 import io.github.akk0448.mtm.audit.service.ManyToManyAuditService;
+import io.github.akk0448.mtm.audit.sink.AuditSink;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
+import io.github.akk0448.mtm.audit.sink.FileAuditSink;
+import io.github.akk0448.mtm.audit.sink.JdbcAuditSink;
+import io.github.akk0448.mtm.audit.spool.AuditSpool;
+import io.github.akk0448.mtm.audit.writer.AsyncAuditWriter;
+import io.github.akk0448.mtm.audit.writer.AuditBulkWriter;
+import io.github.akk0448.mtm.audit.writer.PgCopyAuditBulkWriter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Central configuration class for Many-to-Many audit library beans.
@@ -20,6 +50,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
  * @since 1.0.0
  */
 @Configuration
+@EnableConfigurationProperties(MtmAuditProperties.class)
 public class MtmAuditConfiguration {
 
     @Bean
@@ -30,8 +61,23 @@ public class MtmAuditConfiguration {
     @Bean
     public ManyToManyAssociationListener manyToManyAssociationListener(
             ManyToManyAuditScanner auditScanner,
-            AuditEventPublisher auditEventPublisher) {
-        return new ManyToManyAssociationListener(auditScanner, auditEventPublisher);
+            AuditEventPublisher auditEventPublisher,
+            ManyToManyAuditEventListener auditEventListener,
+            ManyToManyAuditService auditService,
+            AuditSinkRouter auditSinkRouter,
+            MtmAuditProperties properties,
+            ObjectProvider<AuditMetrics> auditMetrics,
+            AuditContextProvider auditContextProvider) {
+        return new ManyToManyAssociationListener(auditScanner, auditEventPublisher,
+                auditEventListener::handleAuditEvent, auditService, auditSinkRouter,
+                properties.getWriteMode(), properties.isPublishEvents(), properties.isCompactNetChanges(),
+                auditMetrics.getIfAvailable(() -> AuditMetrics.NOOP), auditContextProvider);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditContextProvider.class)
+    public AuditContextProvider auditContextProvider(ObjectProvider<AuditorAware<?>> auditorAware) {
+        return new AuditorAwareContextProvider(auditorAware.getIfUnique(this::defaultAuditorAware));
     }
 
     @Bean
@@ -41,19 +87,132 @@ public class MtmAuditConfiguration {
 
     @Bean
     public AuditTableCreator auditTableCreator(
+            ManyToManyAuditScanner manyToManyAuditScanner,
+            DdlGenerationStrategy ddlGenerationStrategy,
+            JdbcTemplate jdbcTemplate,
+            MtmAuditProperties properties) {
+        return new AuditTableCreator(manyToManyAuditScanner, ddlGenerationStrategy, jdbcTemplate,
+                properties.getIndexes(), partitionScheme(properties), properties.getDdlParallelism());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mtm.audit.partitioning", name = "enabled", havingValue = "true")
+    public AuditPartitionMaintainer auditPartitionMaintainer(
+            ManyToManyAuditScanner manyToManyAuditScanner,
+            DdlGenerationStrategy ddlGenerationStrategy,
+            JdbcTemplate jdbcTemplate,
+            MtmAuditProperties properties) {
+        return new AuditPartitionMaintainer(manyToManyAuditScanner, ddlGenerationStrategy, jdbcTemplate,
+                partitionScheme(properties), properties.getPartitioning().getMaintenanceInterval());
+    }
+
+    @Bean
+    public ManyToManyAuditQueryService manyToManyAuditQueryService(
             ManyToManyAuditScanner manyToManyAuditScanner,
             DdlGenerationStrategy ddlGenerationStrategy,
             JdbcTemplate jdbcTemplate) {
-        return new AuditTableCreator(manyToManyAuditScanner, ddlGenerationStrategy, jdbcTemplate);
+        return new ManyToManyAuditQueryService(manyToManyAuditScanner, ddlGenerationStrategy, jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mtm.audit.archive", name = "enabled", havingValue = "true")
+    public AuditArchiver auditArchiver(ManyToManyAuditScanner scanner, JdbcTemplate jdbcTemplate,
+                                       MtmAuditProperties properties) {
+        MtmAuditProperties.Archive archive = properties.getArchive();
+        return new AuditArchiver(scanner, jdbcTemplate, Path.of(archive.getDirectory()), archive.getChunkSize(),
+                archive.getDeleteBatchSize(), archive.getRetention(), archive.getInterval());
     }
 
     @Bean
-    public ManyToManyAuditService manyToManyAuditService() {
-        return new ManyToManyAuditService();
+    @ConditionalOnProperty(prefix = "mtm.audit.archive", name = "enabled", havingValue = "true")
+    public AuditArchiveReader auditArchiveReader(ManyToManyAuditScanner scanner, MtmAuditProperties properties) {
+        return new AuditArchiveReader(scanner, Path.of(properties.getArchive().getDirectory()));
     }
 
     @Bean
-    public ManyToManyAuditEventListener manyToManyAuditEventListener(ManyToManyAuditService service) {
-        return new ManyToManyAuditEventListener(service);
+    public ManyToManyAuditService manyToManyAuditService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DdlGenerationStrategy ddlGenerationStrategy,
+            MtmAuditProperties properties,
+            ObjectProvider<AuditBulkWriter> auditBulkWriter) {
+        return new ManyToManyAuditService(jdbcTemplate, transactionManager, ddlGenerationStrategy,
+                properties.getBatchSize(), properties.isMultiRowInsert(), auditBulkWriter.getIfAvailable(),
+                properties.getBulkThreshold());
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "org.postgresql.PGConnection")
+    @ConditionalOnMissingBean(AuditBulkWriter.class)
+    public AuditBulkWriter pgCopyAuditBulkWriter() {
+        return new PgCopyAuditBulkWriter();
+    }
+
+    @Bean
+    public JdbcAuditSink jdbcAuditSink(ManyToManyAuditService service) {
+        return new JdbcAuditSink(service);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mtm.audit.sinks.file", name = "enabled", havingValue = "true")
+    public FileAuditSink fileAuditSink(MtmAuditProperties properties) throws IOException {
+        MtmAuditProperties.Sinks.File file = properties.getSinks().getFile();
+        return new FileAuditSink(Path.of(file.getDirectory()), file.getMaxFileSize().toBytes());
+    }
+
+    @Bean
+    public AuditSinkRouter auditSinkRouter(List<AuditSink> sinks, MtmAuditProperties properties) {
+        return new AuditSinkRouter(sinks, properties.getSinks().getDefaultSink(), properties.getSinks().getTables());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mtm.audit.spool", name = "enabled", havingValue = "true")
+    public AuditSpool auditSpool(ManyToManyAuditScanner scanner, AuditSinkRouter sinkRouter,
+                                 MtmAuditProperties properties) throws IOException {
+        MtmAuditProperties.Spool spool = properties.getSpool();
+        return new AuditSpool(Path.of(spool.getDirectory()), (int) spool.getSegmentSize().toBytes(),
+                scanner, sinkRouter, properties.getBatchSize(), spool.getRetryInterval(), spool.getRetryCapacity());
+    }
+
+    /**
+     * The spool, when enabled, is injected as a list so that Spring records the writer as
+     * depending on it and destroys the spool only after the writer has drained.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mtm.audit", name = "write-mode", havingValue = "async")
+    public AsyncAuditWriter asyncAuditWriter(AuditSinkRouter sinkRouter, MtmAuditProperties properties,
+                                             ObjectProvider<AuditMetrics> auditMetrics,
+                                             List<AuditSpool> auditSpool) {
+        return new AsyncAuditWriter(sinkRouter, properties.getAsync(), properties.getBatchSize(),
+                auditMetrics.getIfAvailable(() -> AuditMetrics.NOOP),
+                auditSpool.isEmpty() ? null : auditSpool.get(0));
+    }
+
+    @Bean
+    public ManyToManyAuditEventListener manyToManyAuditEventListener(
+            AuditSinkRouter sinkRouter,
+            MtmAuditProperties properties,
+            ObjectProvider<AsyncAuditWriter> asyncAuditWriter,
+            ObjectProvider<AuditSpool> auditSpool,
+            ObjectProvider<AuditMetrics> auditMetrics) {
+        return new ManyToManyAuditEventListener(sinkRouter, properties.getWriteMode(),
+                asyncAuditWriter.getIfAvailable(), auditSpool.getIfAvailable(),
+                auditMetrics.getIfAvailable(() -> AuditMetrics.NOOP));
+    }
+
+    private AuditPartitionScheme partitionScheme(MtmAuditProperties properties) {
+        MtmAuditProperties.Partitioning partitioning = properties.getPartitioning();
+        if (!partitioning.isEnabled()) {
+            return null;
+        }
+        return new AuditPartitionScheme(partitioning.getInterval(), partitioning.getPrecreate(),
+                partitioning.getRetention());
+    }
+
+    private AuditorAware<?> defaultAuditorAware() {
+        if (ClassUtils.isPresent("org.springframework.security.core.context.SecurityContextHolder", getClass().getClassLoader())) {
+            return new SecurityContextAuditorAware();
+        }
+        return Optional::empty;
     }
 }
\ No newline at end of file
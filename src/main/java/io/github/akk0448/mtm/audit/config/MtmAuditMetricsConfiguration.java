@@ -0,0 +1,39 @@
+package io.github.akk0448.mtm.audit.config;
+
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
+import io.github.akk0448.mtm.audit.metrics.MicrometerAuditMetrics;
+import io.github.akk0448.mtm.audit.writer.AsyncAuditWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures Micrometer metrics for Many-to-Many auditing when a {@link MeterRegistry} is available.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@AutoConfigureAfter(value = MtmAuditConfiguration.class,
+        name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+public class MtmAuditMetricsConfiguration {
+
+    @Bean
+    public AuditMetrics auditMetrics(MeterRegistry meterRegistry, MtmAuditProperties properties) {
+        return new MicrometerAuditMetrics(meterRegistry, properties.getWriteMode());
+    }
+
+    @Bean
+    @ConditionalOnBean(AsyncAuditWriter.class)
+    public Gauge asyncAuditQueueSize(MeterRegistry meterRegistry, AsyncAuditWriter asyncAuditWriter) {
+        return Gauge.builder("mtm.audit.queue.size", asyncAuditWriter, AsyncAuditWriter::getQueueSize)
+                .description("Many-to-Many audit events waiting in the async writer queue")
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
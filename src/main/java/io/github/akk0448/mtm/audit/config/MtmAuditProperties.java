@@ -0,0 +1,266 @@
+package io.github.akk0448.mtm.audit.config;
+
+import io.github.akk0448.mtm.audit.enums.AuditIndexType;
+import io.github.akk0448.mtm.audit.enums.AuditOverflowPolicy;
+import io.github.akk0448.mtm.audit.enums.AuditPartitionInterval;
+import io.github.akk0448.mtm.audit.enums.AuditWriteMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration properties for the Many-to-Many audit library.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "mtm.audit")
+public class MtmAuditProperties {
+
+    /**
+     * How captured audit events are written to the audit tables.
+     */
+    private AuditWriteMode writeMode = AuditWriteMode.PER_EVENT;
+
+    /**
+     * Maximum number of audit rows sent to the database in one JDBC batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Whether batched audit rows are written as multi-row INSERT statements instead
+     * of JDBC batches of single-row statements.
+     */
+    private boolean multiRowInsert = false;
+
+    /**
+     * Minimum number of audit rows for one table written in a single batch through the
+     * database bulk load path, such as PostgreSQL COPY, when one is available.
+     */
+    private int bulkThreshold = 1_000;
+
+    /**
+     * Whether captured audit events are also published to application listeners as
+     * {@code ManyToManyAuditEvent}s.
+     */
+    private boolean publishEvents = true;
+
+    /**
+     * Whether the audit events of a transaction are reduced to their net change before
+     * they are persisted or published, cancelling out deletes and re-inserts of the same
+     * association row.
+     */
+    private boolean compactNetChanges = false;
+
+    /**
+     * Maximum number of audit tables created or altered concurrently at startup.
+     */
+    private int ddlParallelism = 4;
+
+    /**
+     * Secondary indexes created on audit tables. Set to an empty value to create none.
+     */
+    private Set<AuditIndexType> indexes = EnumSet.of(AuditIndexType.JOIN_COLUMNS, AuditIndexType.INVERSE_JOIN_COLUMNS);
+
+    /**
+     * Settings for the sinks receiving committed audit records.
+     */
+    private final Sinks sinks = new Sinks();
+
+    /**
+     * Settings for the asynchronous write mode.
+     */
+    private final Async async = new Async();
+
+    /**
+     * Settings for the durable audit spool.
+     */
+    private final Spool spool = new Spool();
+
+    /**
+     * Settings for time-based partitioning of audit tables.
+     */
+    private final Partitioning partitioning = new Partitioning();
+
+    /**
+     * Settings for archival of old audit rows to segment files.
+     */
+    private final Archive archive = new Archive();
+
+    @Getter
+    @Setter
+    public static class Sinks {
+
+        /**
+         * Name of the sink receiving the records of audit tables without their own entry.
+         */
+        private String defaultSink = "jdbc";
+
+        /**
+         * Sink name per audit table name, for example {@code user_roles_audit: file}.
+         */
+        private Map<String, String> tables = new HashMap<>();
+
+        /**
+         * Settings for the append-only file sink.
+         */
+        private final File file = new File();
+
+        @Getter
+        @Setter
+        public static class File {
+
+            /**
+             * Whether the file sink is available to audit tables.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Directory holding the audit log files. Must not be shared between application instances.
+             */
+            private String directory = "mtm-audit-log";
+
+            /**
+             * Size after which a new audit log file is started.
+             */
+            private DataSize maxFileSize = DataSize.ofMegabytes(128);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /**
+         * Maximum number of audit events waiting to be written, split evenly across the writer threads.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Number of writer threads. Each thread drains its own stripe of the queue, and all
+         * events of one association row go to the same stripe.
+         */
+        private int threads = 2;
+
+        /**
+         * Whether writer threads are virtual threads, when the JVM supports them.
+         */
+        private boolean virtualThreads = false;
+
+        /**
+         * Policy applied when the queue is full.
+         */
+        private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+
+        /**
+         * Maximum time to wait for queued events to be written on shutdown.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Spool {
+
+        /**
+         * Whether committed audit events are spooled to disk until they are persisted.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the spool segment files. Must not be shared between application instances.
+         */
+        private String directory = "mtm-audit-spool";
+
+        /**
+         * Size of each memory-mapped spool segment file.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Delay between attempts to write spooled audit events whose write failed.
+         */
+        private Duration retryInterval = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of failed audit events kept in memory for retry. Further failed
+         * events stay in their segment and are replayed on the next startup.
+         */
+        private int retryCapacity = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Partitioning {
+
+        /**
+         * Whether new audit tables are range-partitioned on created_on, on databases that support it.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time span covered by each partition.
+         */
+        private AuditPartitionInterval interval = AuditPartitionInterval.MONTH;
+
+        /**
+         * Number of future partitions kept ahead of the current one.
+         */
+        private int precreate = 3;
+
+        /**
+         * Age after which partitions are dropped. Partitions are kept forever when not set.
+         */
+        private Period retention;
+
+        /**
+         * Delay between partition maintenance runs.
+         */
+        private Duration maintenanceInterval = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Archive {
+
+        /**
+         * Whether audit rows older than the retention period are moved to archive segment files.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding one sub-directory of segment files per audit table.
+         */
+        private String directory = "mtm-audit-archive";
+
+        /**
+         * Age after which audit rows are archived.
+         */
+        private Period retention = Period.ofDays(90);
+
+        /**
+         * Number of rows written to each segment file.
+         */
+        private int chunkSize = 50_000;
+
+        /**
+         * Maximum number of rows removed by one DELETE statement once a segment is on disk.
+         */
+        private int deleteBatchSize = 1_000;
+
+        /**
+         * Delay between archival runs.
+         */
+        private Duration interval = Duration.ofHours(24);
+    }
+}
\ No newline at end of file
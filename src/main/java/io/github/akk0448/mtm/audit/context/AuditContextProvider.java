@@ -0,0 +1,16 @@
+package io.github.akk0448.mtm.audit.context;
+
+/**
+ * Resolves the auditor recorded with Many-to-Many audit records.
+ * Register a bean of this type to replace the default {@link AuditorAwareContextProvider}.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public interface AuditContextProvider {
+
+    /**
+     * Returns the user responsible for the current change.
+     */
+    String getCurrentAuditor();
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package io.github.akk0448.mtm.audit.context;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Audit context provider backed by the application's {@link AuditorAware}.
+ * The auditor is resolved once per transaction and reused for every audit event
+ * captured in it. Outside a transaction it is resolved on each call.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public class AuditorAwareContextProvider implements AuditContextProvider {
+
+    /**
+     * Auditor recorded when the {@link AuditorAware} does not return one.
+     */
+    public static final String ANONYMOUS_AUDITOR = "anonymousUser";
+
+    private final AuditorAware<?> auditorAware;
+
+    public AuditorAwareContextProvider(AuditorAware<?> auditorAware) {
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    public String getCurrentAuditor() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return resolveAuditor();
+        }
+
+        String auditor = (String) TransactionSynchronizationManager.getResource(this);
+        if (auditor == null) {
+            auditor = resolveAuditor();
+            TransactionSynchronizationManager.bindResource(this, auditor);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditorAwareContextProvider.this);
+                }
+            });
+        }
+        return auditor;
+    }
+
+    private String resolveAuditor() {
+        Optional<?> auditor = auditorAware.getCurrentAuditor();
+        return auditor.map(String::valueOf).orElse(ANONYMOUS_AUDITOR);
+    }
+}
\ No newline at end of file
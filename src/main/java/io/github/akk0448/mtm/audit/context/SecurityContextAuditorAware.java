@@ -0,0 +1,23 @@
+package io.github.akk0448.mtm.audit.context;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Fallback auditor taken from the Spring Security context, used when Spring Security
+ * is present and the application defines no {@link AuditorAware} bean.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public class SecurityContextAuditorAware implements AuditorAware<String> {
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(Authentication::getName);
+    }
+}
\ No newline at end of file
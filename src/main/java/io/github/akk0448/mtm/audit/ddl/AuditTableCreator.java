@@ -1,17 +1,30 @@
 package io.github.akk0448.mtm.audit.ddl;
 
+import io.github.akk0448.mtm.audit.enums.AuditIndexType;
 import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
 import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metadata.AuditTableIndex;
+import io.github.akk0448.mtm.audit.partition.AuditPartitionScheme;
 import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 /**
  * Creates and maintains Many-to-Many audit tables during application startup.
+ * The columns and indexes of all audit tables are read with one catalog query each, and
+ * the resulting CREATE and ALTER statements run concurrently, one task per table.
+ * New tables are range-partitioned on {@code created_on} when a partition scheme is set.
  *
  * @author Aniket Kumar
  * @since 1.0.0
@@ -23,58 +36,134 @@ public class AuditTableCreator {
     private final ManyToManyAuditScanner auditScanner;
     private final DdlGenerationStrategy ddlStrategy;
     private final JdbcTemplate jdbcTemplate;
+    private final Set<AuditIndexType> indexTypes;
+    private final AuditPartitionScheme partitionScheme;
+    private final int parallelism;
 
     /**
      * Initializes audit tables for detected Many-to-Many associations.
      */
     @PostConstruct
     public void createAuditTables() {
-        Map<String, AuditManyToManyAssociationMetadata> metadataMap = auditScanner.getAuditAssociationMetadata();
-
-        for (AuditManyToManyAssociationMetadata metadata : metadataMap.values()) {
-            String existsQuery = ddlStrategy.generateTableExistsQuery(metadata.tableName());
-
-            boolean tableExists = Boolean.TRUE.equals(
-                    jdbcTemplate.query(existsQuery, ps -> ps.setString(1, metadata.tableName()),
-                            rs -> rs.next() && rs.getInt(1) > 0
-                    )
-            );
-
-            if (!tableExists) {
-                String ddl = ddlStrategy.generateCreateTableQuery(metadata);
-                try {
-                    log.info("\n{}", ddl);
-                    jdbcTemplate.execute(ddl);
-                } catch (Exception e) {
-                    log.error("Failed to create audit table [{}]: {}", metadata.tableName(), e.getMessage(), e);
-                }
-            } else {
-                try {
-                    Set<String> existingColumns = getExistingColumns(metadata.tableName());
-
-                    List<AuditJoinColumn> allColumns = new ArrayList<>();
-                    allColumns.addAll(Arrays.asList(metadata.joinColumns()));
-                    allColumns.addAll(Arrays.asList(metadata.inverseJoinColumns()));
-
-                    for (AuditJoinColumn col : allColumns) {
-                        if (!existingColumns.contains(col.columnName().toLowerCase())) {
-                            String alterQuery = ddlStrategy.generateAlterTableQuery(metadata.tableName(), col);
-                            log.info("\n{}", alterQuery);
-                            jdbcTemplate.execute(alterQuery);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to update audit table [{}]: {}", metadata.tableName(), e.getMessage(), e);
+        Collection<AuditManyToManyAssociationMetadata> associations =
+                auditScanner.getAuditAssociationMetadata().values();
+        if (associations.isEmpty()) {
+            return;
+        }
+
+        List<String> tableNames = associations.stream()
+                .map(metadata -> metadata.tableName().toLowerCase())
+                .toList();
+        Map<String, Set<String>> existingTables = queryCatalog(ddlStrategy.fetchAuditColumnsQuery(tableNames.size()), tableNames);
+        String indexesQuery = indexTypes.isEmpty() ? null : ddlStrategy.fetchAuditIndexesQuery(tableNames.size());
+        Map<String, Set<String>> existingIndexes = indexesQuery == null ? Map.of() : queryCatalog(indexesQuery, tableNames);
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (AuditManyToManyAssociationMetadata metadata : associations) {
+            String tableName = metadata.tableName().toLowerCase();
+            List<AuditTableIndex> indexes = getIndexes(metadata);
+
+            Set<String> existingColumns = existingTables.get(tableName);
+            if (existingColumns == null) {
+                tasks.add(() -> createTable(metadata, indexes));
+                continue;
+            }
+
+            List<AuditJoinColumn> missingColumns = Stream.of(metadata.joinColumns(), metadata.inverseJoinColumns())
+                    .flatMap(Arrays::stream)
+                    .filter(col -> !existingColumns.contains(col.columnName().toLowerCase()))
+                    .toList();
+            Set<String> tableIndexes = existingIndexes.getOrDefault(tableName, Set.of());
+            List<AuditTableIndex> missingIndexes = indexesQuery == null ? List.of() : indexes.stream()
+                    .filter(index -> !tableIndexes.contains(index.name().toLowerCase()))
+                    .toList();
+
+            if (!missingColumns.isEmpty() || !missingIndexes.isEmpty()) {
+                tasks.add(() -> alterTable(metadata, missingColumns, missingIndexes));
+            }
+        }
+
+        runAll(tasks);
+    }
+
+    private void createTable(AuditManyToManyAssociationMetadata metadata, List<AuditTableIndex> indexes) {
+        String ddl = partitionScheme == null
+                ? ddlStrategy.generateCreateTableQuery(metadata)
+                : ddlStrategy.generateCreateTableQuery(metadata,
+                        partitionScheme.requiredPartitions(LocalDate.now(ZoneOffset.UTC)));
+        try {
+            log.info("\n{}", ddl);
+            jdbcTemplate.execute(ddl);
+            createIndexes(metadata, indexes);
+        } catch (Exception e) {
+            log.error("Failed to create audit table [{}]: {}", metadata.tableName(), e.getMessage(), e);
+        }
+    }
+
+    private void alterTable(AuditManyToManyAssociationMetadata metadata, List<AuditJoinColumn> missingColumns,
+                            List<AuditTableIndex> missingIndexes) {
+        try {
+            if (!missingColumns.isEmpty()) {
+                for (String alterQuery : ddlStrategy.generateAlterTableQueries(metadata.tableName(), missingColumns)) {
+                    log.info("\n{}", alterQuery);
+                    jdbcTemplate.execute(alterQuery);
                 }
             }
+            createIndexes(metadata, missingIndexes);
+        } catch (Exception e) {
+            log.error("Failed to update audit table [{}]: {}", metadata.tableName(), e.getMessage(), e);
+        }
+    }
+
+    private void createIndexes(AuditManyToManyAssociationMetadata metadata, List<AuditTableIndex> indexes) {
+        for (AuditTableIndex index : indexes) {
+            String indexQuery = ddlStrategy.generateCreateIndexQuery(metadata.tableName(), index);
+            log.info("\n{}", indexQuery);
+            jdbcTemplate.execute(indexQuery);
         }
     }
 
-    private Set<String> getExistingColumns(String tableName) {
-        return new HashSet<>(jdbcTemplate.query(
-                ddlStrategy.fetchColumnNameQuery(tableName),
-                ps -> ps.setString(1, tableName),
-                (rs, rowNum) -> rs.getString(1).toLowerCase()
-        ));
+    private List<AuditTableIndex> getIndexes(AuditManyToManyAssociationMetadata metadata) {
+        return indexTypes.stream()
+                .map(type -> AuditTableIndex.of(metadata, type))
+                .toList();
+    }
+
+    private void runAll(List<Runnable> tasks) {
+        int threads = Math.min(tasks.size(), parallelism);
+        if (threads <= 1) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("mtm-audit-ddl-"));
+        try {
+            CompletableFuture.allOf(tasks.stream()
+                    .map(task -> CompletableFuture.runAsync(task, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs a catalog query returning (table name, object name) rows for the given tables,
+     * and groups the lower-case object names by lower-case table name.
+     */
+    private Map<String, Set<String>> queryCatalog(String sql, List<String> tableNames) {
+        Map<String, Set<String>> objectsByTable = new HashMap<>();
+        jdbcTemplate.query(
+                sql,
+                ps -> {
+                    for (int i = 0; i < tableNames.size(); i++) {
+                        ps.setString(i + 1, tableNames.get(i));
+                    }
+                },
+                rs -> {
+                    objectsByTable.computeIfAbsent(rs.getString(1).toLowerCase(), table -> new HashSet<>())
+                            .add(rs.getString(2).toLowerCase());
+                }
+        );
+        return objectsByTable;
     }
 }
\ No newline at end of file
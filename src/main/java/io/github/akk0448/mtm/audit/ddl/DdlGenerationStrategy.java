@@ -2,9 +2,15 @@ package io.github.akk0448.mtm.audit.ddl;
 
 import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
 import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metadata.AuditTableIndex;
+import io.github.akk0448.mtm.audit.partition.AuditPartition;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Strategy for database-specific DDL generation for Many-to-Many audit tables.
+ * Also generates the multi-row INSERT statements used for bulk audit writes.
  *
  * @author Aniket Kumar
  * @since 1.0.0
@@ -16,18 +22,128 @@ public interface DdlGenerationStrategy {
      */
     String generateCreateTableQuery(AuditManyToManyAssociationMetadata metadata);
 
+    /**
+     * Generates CREATE TABLE query for an audit table range-partitioned on {@code created_on},
+     * with the given initial partitions and a catch-all partition for later rows.
+     * Databases without partitioning create the table unpartitioned.
+     */
+    default String generateCreateTableQuery(AuditManyToManyAssociationMetadata metadata, List<AuditPartition> partitions) {
+        return generateCreateTableQuery(metadata);
+    }
+
     /**
      * Generates query to check if audit table exists.
+     *
+     * @deprecated no longer called by the library; existing audit tables and their columns
+     * are read in one pass with {@link #fetchAuditColumnsQuery(int)}
      */
+    @Deprecated(since = "1.1.0", forRemoval = true)
     String generateTableExistsQuery(String tableName);
 
     /**
      * Generates query to fetch column names from audit table.
+     *
+     * @deprecated no longer called by the library; existing audit tables and their columns
+     * are read in one pass with {@link #fetchAuditColumnsQuery(int)}
      */
+    @Deprecated(since = "1.1.0", forRemoval = true)
     String fetchColumnNameQuery(String tableName);
 
     /**
      * Generates ALTER TABLE query to add column to audit table.
      */
     String generateAlterTableQuery(String tableName, AuditJoinColumn col);
+
+    /**
+     * Generates query returning the table and column name of every column of the given
+     * audit tables in the current schema. Binds one lower-case table name per placeholder.
+     */
+    default String fetchAuditColumnsQuery(int tableCount) {
+        return """
+                SELECT TABLE_NAME, COLUMN_NAME
+                FROM INFORMATION_SCHEMA.COLUMNS
+                WHERE TABLE_SCHEMA = CURRENT_SCHEMA
+                AND LOWER(TABLE_NAME) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    /**
+     * Generates ALTER TABLE statements adding the given columns to an audit table.
+     * Databases that accept several columns in one statement should return a single query.
+     */
+    default List<String> generateAlterTableQueries(String tableName, List<AuditJoinColumn> columns) {
+        return columns.stream().map(col -> generateAlterTableQuery(tableName, col)).toList();
+    }
+
+    /**
+     * Generates CREATE INDEX query for a secondary index of an audit table.
+     */
+    default String generateCreateIndexQuery(String tableName, AuditTableIndex index) {
+        return String.format("CREATE INDEX %s ON %s (%s)", index.name(), tableName, String.join(", ", index.columns()));
+    }
+
+    /**
+     * Generates query returning the table and index name of every index of the given audit
+     * tables in the current schema, binding one lower-case table name per placeholder.
+     * Returns {@code null} when the database has no such catalog view, in which case
+     * missing indexes are only created together with new tables.
+     */
+    default String fetchAuditIndexesQuery(int tableCount) {
+        return null;
+    }
+
+    /**
+     * Generates query returning the table and partition name of every partition of the given
+     * audit tables in the current schema, binding one lower-case table name per placeholder.
+     * Returns {@code null} when the database does not partition audit tables.
+     */
+    default String fetchAuditPartitionsQuery(int tableCount) {
+        return null;
+    }
+
+    /**
+     * Generates query adding partitions after the last existing one, split off the catch-all partition.
+     */
+    default String generateAddPartitionsQuery(String tableName, List<AuditPartition> partitions) {
+        throw new UnsupportedOperationException("Audit table partitioning is not supported");
+    }
+
+    /**
+     * Generates query dropping the given partitions and the rows they hold.
+     */
+    default String generateDropPartitionsQuery(String tableName, List<String> partitionNames) {
+        throw new UnsupportedOperationException("Audit table partitioning is not supported");
+    }
+
+    /**
+     * Generates multi-row INSERT query for Many-to-Many audit table.
+     * Columns are listed in the bind order of {@link io.github.akk0448.mtm.audit.metadata.AuditInsertPlan}:
+     * join columns, inverse join columns, then action, created_by, created_on, updated_by, updated_on.
+     */
+    default String generateMultiRowInsertQuery(AuditManyToManyAssociationMetadata metadata, int rowCount) {
+        return MultiRowInsertBuilder.build(metadata, rowCount, name -> name);
+    }
+
+    /**
+     * Maximum number of bind parameters the database driver accepts in one statement.
+     */
+    default int maxBindParameters() {
+        return 2_000;
+    }
+
+    /**
+     * Generates the clause appended to an ordered query to return at most as many rows as
+     * the value bound to its single placeholder.
+     */
+    default String generateRowLimitClause() {
+        return "FETCH FIRST ? ROWS ONLY";
+    }
+
+    /**
+     * Fetch size that makes the driver stream a forward-only result set in chunks of
+     * roughly {@code fetchSize} rows instead of loading it whole.
+     */
+    default int streamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package io.github.akk0448.mtm.audit.ddl;
 
 import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
 import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metadata.AuditTableIndex;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * H2 database implementation of DDL generation strategy.
+ * Audit tables are never partitioned on H2; partitioning settings are ignored.
  *
  * @author Aniket Kumar
  * @since 1.0.0
@@ -22,7 +26,7 @@ public class H2DdlGenerationStrategy implements DdlGenerationStrategy {
                 %s,
                 action VARCHAR(20) NOT NULL,
                 created_by VARCHAR(255),
-                created_on TIMESTAMP,
+                created_on TIMESTAMP NOT NULL,
                 updated_by VARCHAR(255),
                 updated_on TIMESTAMP
             )
@@ -48,6 +52,8 @@ public class H2DdlGenerationStrategy implements DdlGenerationStrategy {
     }
 
     @Override
+    @Deprecated(since = "1.1.0", forRemoval = true)
+    @SuppressWarnings("removal")
     public String generateTableExistsQuery(String tableName) {
         return """
                 SELECT COUNT(*)
@@ -58,6 +64,8 @@ public class H2DdlGenerationStrategy implements DdlGenerationStrategy {
     }
 
     @Override
+    @Deprecated(since = "1.1.0", forRemoval = true)
+    @SuppressWarnings("removal")
     public String fetchColumnNameQuery(String tableName) {
         return """
                 SELECT COLUMN_NAME
@@ -78,6 +86,54 @@ public class H2DdlGenerationStrategy implements DdlGenerationStrategy {
         );
     }
 
+    @Override
+    public String fetchAuditColumnsQuery(int tableCount) {
+        return """
+                SELECT TABLE_NAME, COLUMN_NAME
+                FROM INFORMATION_SCHEMA.COLUMNS
+                WHERE TABLE_SCHEMA = SCHEMA()
+                AND LOWER(TABLE_NAME) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    @Override
+    public List<String> generateAlterTableQueries(String tableName, List<AuditJoinColumn> columns) {
+        String columnDefs = columns.stream()
+                .map(col -> String.format("%s %s NOT NULL",
+                        col.columnName().toLowerCase(), mapJavaTypeToSqlType(col.columnClassType())))
+                .collect(Collectors.joining(", "));
+        return List.of(String.format("ALTER TABLE %s ADD COLUMN (%s)", tableName.toLowerCase(), columnDefs));
+    }
+
+    @Override
+    public String generateCreateIndexQuery(String tableName, AuditTableIndex index) {
+        return String.format("CREATE INDEX IF NOT EXISTS %s ON %s (%s)", index.name().toLowerCase(),
+                tableName.toLowerCase(), String.join(", ", index.columns()).toLowerCase());
+    }
+
+    @Override
+    public String fetchAuditIndexesQuery(int tableCount) {
+        return """
+                SELECT TABLE_NAME, INDEX_NAME
+                FROM INFORMATION_SCHEMA.INDEXES
+                WHERE TABLE_SCHEMA = SCHEMA()
+                AND LOWER(TABLE_NAME) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    @Override
+    public String generateMultiRowInsertQuery(AuditManyToManyAssociationMetadata metadata, int rowCount) {
+        return MultiRowInsertBuilder.build(metadata, rowCount, String::toLowerCase);
+    }
+
+    /**
+     * H2 has no hard placeholder limit; capped to keep statements of a reasonable size.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 65_535;
+    }
+
     private String mapJavaTypeToSqlType(Class<?> javaType) {
         if (javaType == Integer.class || javaType == int.class) {
             return "INTEGER";
@@ -0,0 +1,63 @@
+package io.github.akk0448.mtm.audit.ddl;
+
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Builds multi-row INSERT statements for Many-to-Many audit tables.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+final class MultiRowInsertBuilder {
+
+    private static final String[] AUDIT_COLUMNS = {"action", "created_by", "created_on", "updated_by", "updated_on"};
+
+    private MultiRowInsertBuilder() {
+    }
+
+    /**
+     * Builds {@code INSERT INTO table (columns) VALUES (...), (...)} for the given number of rows.
+     *
+     * @param metadata the audit table metadata
+     * @param rowCount number of value rows
+     * @param quote quotes table and column identifiers
+     * @return the multi-row INSERT statement
+     */
+    static String build(AuditManyToManyAssociationMetadata metadata, int rowCount, UnaryOperator<String> quote) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(quote.apply(metadata.tableName())).append(" (");
+        int columnCount = 0;
+
+        for (AuditJoinColumn col : metadata.joinColumns()) {
+            columnCount = appendColumn(sql, quote.apply(col.columnName()), columnCount);
+        }
+        for (AuditJoinColumn col : metadata.inverseJoinColumns()) {
+            columnCount = appendColumn(sql, quote.apply(col.columnName()), columnCount);
+        }
+        for (String auditColumn : AUDIT_COLUMNS) {
+            columnCount = appendColumn(sql, quote.apply(auditColumn), columnCount);
+        }
+
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columnCount; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+
+        sql.append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(row);
+        }
+
+        return sql.toString();
+    }
+
+    private static int appendColumn(StringBuilder sql, String column, int columnCount) {
+        if (columnCount > 0) sql.append(", ");
+        sql.append(column);
+        return columnCount + 1;
+    }
+}
\ No newline at end of file
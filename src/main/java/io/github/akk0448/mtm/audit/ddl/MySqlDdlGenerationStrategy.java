@@ -2,10 +2,14 @@ package io.github.akk0448.mtm.audit.ddl;
 
 import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
 import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metadata.AuditTableIndex;
+import io.github.akk0448.mtm.audit.partition.AuditPartition;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * MySQL database implementation of DDL generation strategy.
@@ -22,14 +26,54 @@ public class MySqlDdlGenerationStrategy implements DdlGenerationStrategy {
                 %s,
                 action VARCHAR(20) NOT NULL,
                 created_by VARCHAR(255),
-                created_on DATETIME(6),
+                created_on DATETIME(6) NOT NULL,
                 updated_by VARCHAR(255),
                 updated_on DATETIME(6)
             )
             """;
 
+    private static final String CREATE_PARTITIONED_TABLE_TEMPLATE = """
+            CREATE TABLE IF NOT EXISTS `%s` (
+                id BIGINT AUTO_INCREMENT,
+                %s,
+                action VARCHAR(20) NOT NULL,
+                created_by VARCHAR(255),
+                created_on DATETIME(6) NOT NULL,
+                updated_by VARCHAR(255),
+                updated_on DATETIME(6),
+                PRIMARY KEY (id, created_on)
+            )
+            PARTITION BY RANGE COLUMNS (created_on) (
+                %s
+            )
+            """;
+
+    private static final String CATCH_ALL_PARTITION = "pmax";
+
     @Override
     public String generateCreateTableQuery(AuditManyToManyAssociationMetadata metadata) {
+        return String.format(
+                CREATE_TABLE_TEMPLATE,
+                metadata.tableName(),
+                columnDefinitions(metadata)
+        );
+    }
+
+    /**
+     * MySQL requires the partitioning column in every unique key, so the primary key
+     * becomes {@code (id, created_on)} and {@code created_on} is not nullable.
+     */
+    @Override
+    public String generateCreateTableQuery(AuditManyToManyAssociationMetadata metadata, List<AuditPartition> partitions) {
+        return String.format(
+                CREATE_PARTITIONED_TABLE_TEMPLATE,
+                metadata.tableName(),
+                columnDefinitions(metadata),
+                partitionDefinitions(partitions)
+        );
+    }
+
+    private String columnDefinitions(AuditManyToManyAssociationMetadata metadata) {
         List<String> columnDefs = new ArrayList<>();
 
         for (AuditJoinColumn col : metadata.joinColumns()) {
@@ -42,16 +86,21 @@ public class MySqlDdlGenerationStrategy implements DdlGenerationStrategy {
             columnDefs.add(String.format("`%s` %s NOT NULL", col.columnName(), sqlType));
         }
 
-        String columnsPart = String.join(",\n    ", columnDefs);
+        return String.join(",\n    ", columnDefs);
+    }
 
-        return String.format(
-                CREATE_TABLE_TEMPLATE,
-                metadata.tableName(),
-                columnsPart
-        );
+    private String partitionDefinitions(List<AuditPartition> partitions) {
+        List<String> partitionDefs = new ArrayList<>();
+        for (AuditPartition partition : partitions) {
+            partitionDefs.add(String.format("PARTITION `%s` VALUES LESS THAN ('%s')", partition.name(), partition.upperBound()));
+        }
+        partitionDefs.add(String.format("PARTITION `%s` VALUES LESS THAN (MAXVALUE)", CATCH_ALL_PARTITION));
+        return String.join(",\n    ", partitionDefs);
     }
 
     @Override
+    @Deprecated(since = "1.1.0", forRemoval = true)
+    @SuppressWarnings("removal")
     public String generateTableExistsQuery(String tableName) {
         return """
                 SELECT COUNT(*)
@@ -62,6 +111,8 @@ public class MySqlDdlGenerationStrategy implements DdlGenerationStrategy {
     }
 
     @Override
+    @Deprecated(since = "1.1.0", forRemoval = true)
+    @SuppressWarnings("removal")
     public String fetchColumnNameQuery(String tableName) {
         return """
                 SELECT COLUMN_NAME
@@ -79,6 +130,101 @@ public class MySqlDdlGenerationStrategy implements DdlGenerationStrategy {
         );
     }
 
+    @Override
+    public String fetchAuditColumnsQuery(int tableCount) {
+        return """
+                SELECT TABLE_NAME, COLUMN_NAME
+                FROM information_schema.columns
+                WHERE table_schema = DATABASE()
+                AND LOWER(table_name) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    @Override
+    public List<String> generateAlterTableQueries(String tableName, List<AuditJoinColumn> columns) {
+        String addColumns = columns.stream()
+                .map(col -> String.format("ADD COLUMN `%s` %s NOT NULL",
+                        col.columnName(), mapJavaTypeToSqlType(col.columnClassType())))
+                .collect(Collectors.joining(", "));
+        return List.of(String.format("ALTER TABLE `%s` %s", tableName, addColumns));
+    }
+
+    @Override
+    public String generateCreateIndexQuery(String tableName, AuditTableIndex index) {
+        String columns = index.columns().stream()
+                .map(column -> "`" + column + "`")
+                .collect(Collectors.joining(", "));
+        return String.format("CREATE INDEX `%s` ON `%s` (%s)", index.name(), tableName, columns);
+    }
+
+    @Override
+    public String fetchAuditIndexesQuery(int tableCount) {
+        return """
+                SELECT DISTINCT TABLE_NAME, INDEX_NAME
+                FROM information_schema.statistics
+                WHERE table_schema = DATABASE()
+                AND LOWER(table_name) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    @Override
+    public String fetchAuditPartitionsQuery(int tableCount) {
+        return """
+                SELECT TABLE_NAME, PARTITION_NAME
+                FROM information_schema.partitions
+                WHERE table_schema = DATABASE()
+                AND PARTITION_NAME IS NOT NULL
+                AND LOWER(table_name) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    /**
+     * Splits the empty catch-all partition, which only rewrites rows dated past the last partition.
+     */
+    @Override
+    public String generateAddPartitionsQuery(String tableName, List<AuditPartition> partitions) {
+        return String.format("ALTER TABLE `%s` REORGANIZE PARTITION `%s` INTO (\n    %s\n)",
+                tableName, CATCH_ALL_PARTITION, partitionDefinitions(partitions));
+    }
+
+    @Override
+    public String generateDropPartitionsQuery(String tableName, List<String> partitionNames) {
+        String partitions = partitionNames.stream()
+                .map(name -> "`" + name + "`")
+                .collect(Collectors.joining(", "));
+        return String.format("ALTER TABLE `%s` DROP PARTITION %s", tableName, partitions);
+    }
+
+    @Override
+    public String generateMultiRowInsertQuery(AuditManyToManyAssociationMetadata metadata, int rowCount) {
+        return MultiRowInsertBuilder.build(metadata, rowCount, name -> "`" + name + "`");
+    }
+
+    /**
+     * MySQL prepared statements accept at most 65,535 placeholders.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 65_535;
+    }
+
+    /**
+     * Connector/J buffers the whole result set unless the fetch size is {@link Integer#MIN_VALUE},
+     * which streams it row by row, or {@code useCursorFetch} is enabled on the connection.
+     */
+    @Override
+    public int streamingFetchSize(int fetchSize) {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * MySQL does not support {@code FETCH FIRST}.
+     */
+    @Override
+    public String generateRowLimitClause() {
+        return "LIMIT ?";
+    }
+
     private String mapJavaTypeToSqlType(Class<?> javaType) {
         if (javaType == Integer.class || javaType == int.class) {
             return "INT";
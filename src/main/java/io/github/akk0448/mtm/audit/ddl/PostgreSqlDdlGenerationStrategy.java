@@ -0,0 +1,159 @@
+package io.github.akk0448.mtm.audit.ddl;
+
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metadata.AuditTableIndex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL database implementation of DDL generation strategy.
+ * Identifiers are unquoted and lower-case, matching PostgreSQL's case folding.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+public class PostgreSqlDdlGenerationStrategy implements DdlGenerationStrategy {
+
+    private static final String CREATE_TABLE_TEMPLATE = """
+            CREATE TABLE IF NOT EXISTS %s (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                %s,
+                action VARCHAR(20) NOT NULL,
+                created_by VARCHAR(255),
+                created_on TIMESTAMP NOT NULL,
+                updated_by VARCHAR(255),
+                updated_on TIMESTAMP
+            )
+            """;
+
+    @Override
+    public String generateCreateTableQuery(AuditManyToManyAssociationMetadata metadata) {
+        List<String> columnDefs = new ArrayList<>();
+
+        for (AuditJoinColumn col : metadata.joinColumns()) {
+            columnDefs.add(columnDefinition(col));
+        }
+
+        for (AuditJoinColumn col : metadata.inverseJoinColumns()) {
+            columnDefs.add(columnDefinition(col));
+        }
+
+        String columnsPart = String.join(",\n    ", columnDefs);
+
+        return String.format(CREATE_TABLE_TEMPLATE, metadata.tableName().toLowerCase(), columnsPart);
+    }
+
+    @Override
+    @Deprecated(since = "1.1.0", forRemoval = true)
+    @SuppressWarnings("removal")
+    public String generateTableExistsQuery(String tableName) {
+        return """
+                SELECT COUNT(*)
+                FROM information_schema.tables
+                WHERE table_schema = current_schema
+                AND table_name = LOWER(?)
+                """;
+    }
+
+    @Override
+    @Deprecated(since = "1.1.0", forRemoval = true)
+    @SuppressWarnings("removal")
+    public String fetchColumnNameQuery(String tableName) {
+        return """
+                SELECT column_name
+                FROM information_schema.columns
+                WHERE table_schema = current_schema
+                AND table_name = LOWER(?)
+                ORDER BY ordinal_position
+                """;
+    }
+
+    @Override
+    public String generateAlterTableQuery(String tableName, AuditJoinColumn col) {
+        return String.format("ALTER TABLE %s ADD COLUMN %s", tableName.toLowerCase(), columnDefinition(col));
+    }
+
+    @Override
+    public String fetchAuditColumnsQuery(int tableCount) {
+        return """
+                SELECT table_name, column_name
+                FROM information_schema.columns
+                WHERE table_schema = current_schema
+                AND LOWER(table_name) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    @Override
+    public List<String> generateAlterTableQueries(String tableName, List<AuditJoinColumn> columns) {
+        String addColumns = columns.stream()
+                .map(col -> "ADD COLUMN " + columnDefinition(col))
+                .collect(Collectors.joining(", "));
+        return List.of(String.format("ALTER TABLE %s %s", tableName.toLowerCase(), addColumns));
+    }
+
+    @Override
+    public String generateCreateIndexQuery(String tableName, AuditTableIndex index) {
+        return String.format("CREATE INDEX IF NOT EXISTS %s ON %s (%s)", index.name().toLowerCase(),
+                tableName.toLowerCase(), String.join(", ", index.columns()).toLowerCase());
+    }
+
+    @Override
+    public String fetchAuditIndexesQuery(int tableCount) {
+        return """
+                SELECT tablename, indexname
+                FROM pg_indexes
+                WHERE schemaname = current_schema
+                AND LOWER(tablename) IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tableCount, "?")));
+    }
+
+    @Override
+    public String generateMultiRowInsertQuery(AuditManyToManyAssociationMetadata metadata, int rowCount) {
+        return MultiRowInsertBuilder.build(metadata, rowCount, String::toLowerCase);
+    }
+
+    /**
+     * PgJDBC sends the parameter count as a signed 2-byte value.
+     */
+    @Override
+    public int maxBindParameters() {
+        return 32_767;
+    }
+
+    private String columnDefinition(AuditJoinColumn col) {
+        return String.format("%s %s NOT NULL", col.columnName().toLowerCase(), mapJavaTypeToSqlType(col.columnClassType()));
+    }
+
+    private String mapJavaTypeToSqlType(Class<?> javaType) {
+        if (javaType == Integer.class || javaType == int.class) {
+            return "INTEGER";
+        } else if (javaType == Long.class || javaType == long.class) {
+            return "BIGINT";
+        } else if (javaType == Short.class || javaType == short.class) {
+            return "SMALLINT";
+        } else if (javaType == String.class) {
+            return "VARCHAR(255)";
+        } else if (javaType == java.time.LocalDateTime.class || javaType == java.util.Date.class) {
+            return "TIMESTAMP";
+        } else if (javaType == java.time.LocalDate.class) {
+            return "DATE";
+        } else if (javaType == Boolean.class || javaType == boolean.class) {
+            return "BOOLEAN";
+        } else if (javaType == Double.class || javaType == double.class) {
+            return "DOUBLE PRECISION";
+        } else if (javaType == java.math.BigDecimal.class) {
+            return "NUMERIC(19, 2)";
+        } else if (javaType == java.util.UUID.class) {
+            return "UUID";
+        }
+
+        log.warn("Unmapped Java type [{}], defaulting to VARCHAR(255)", javaType.getName());
+        return "VARCHAR(255)";
+    }
+}
\ No newline at end of file
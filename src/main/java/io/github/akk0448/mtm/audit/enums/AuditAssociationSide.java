@@ -0,0 +1,20 @@
+package io.github.akk0448.mtm.audit.enums;
+
+/**
+ * Side of a Many-to-Many association whose key selects audit history.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public enum AuditAssociationSide {
+
+    /**
+     * Owning entity side, matched against the join columns.
+     */
+    OWNING,
+
+    /**
+     * Inverse entity side, matched against the inverse join columns.
+     */
+    INVERSE
+}
\ No newline at end of file
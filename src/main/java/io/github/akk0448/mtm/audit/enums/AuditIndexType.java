@@ -0,0 +1,25 @@
+package io.github.akk0448.mtm.audit.enums;
+
+/**
+ * Secondary indexes that can be created on Many-to-Many audit tables.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public enum AuditIndexType {
+
+    /**
+     * Join columns followed by {@code created_on}, for owning-side history lookups.
+     */
+    JOIN_COLUMNS,
+
+    /**
+     * Inverse join columns followed by {@code created_on}, for inverse-side history lookups.
+     */
+    INVERSE_JOIN_COLUMNS,
+
+    /**
+     * {@code created_on} alone, for time range scans across all keys.
+     */
+    CREATED_ON
+}
\ No newline at end of file
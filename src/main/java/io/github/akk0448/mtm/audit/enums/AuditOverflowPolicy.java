@@ -0,0 +1,27 @@
+package io.github.akk0448.mtm.audit.enums;
+
+/**
+ * Policies applied when the asynchronous audit queue is full.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public enum AuditOverflowPolicy {
+
+    /**
+     * Caller waits until the queue has room.
+     */
+    BLOCK,
+
+    /**
+     * Audit event is discarded and counted.
+     */
+    DROP,
+
+    /**
+     * Caller thread writes the events queued ahead on the event's stripe until the
+     * event fits, keeping the order of the stripe. The caller first waits for the batch
+     * being written on that stripe, if any.
+     */
+    CALLER_RUNS
+}
\ No newline at end of file
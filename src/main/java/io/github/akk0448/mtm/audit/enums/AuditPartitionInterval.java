@@ -0,0 +1,20 @@
+package io.github.akk0448.mtm.audit.enums;
+
+/**
+ * Time span covered by each partition of a partitioned audit table.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public enum AuditPartitionInterval {
+
+    /**
+     * One partition per UTC day.
+     */
+    DAY,
+
+    /**
+     * One partition per UTC calendar month.
+     */
+    MONTH
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package io.github.akk0448.mtm.audit.enums;
+
+/**
+ * Strategies for writing captured Many-to-Many audit events.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public enum AuditWriteMode {
+
+    /**
+     * Each audit event is persisted in its own transaction after commit.
+     */
+    PER_EVENT,
+
+    /**
+     * All audit events of a transaction are persisted together after commit,
+     * in one transaction and as JDBC batches per audit table.
+     */
+    BATCH,
+
+    /**
+     * Audit events are handed to a bounded queue after commit and persisted
+     * in batches by a dedicated writer pool.
+     */
+    ASYNC,
+
+    /**
+     * Audit events are written while the business transaction flushes, on the same
+     * connection, and commit or roll back together with it.
+     */
+    SAME_TRANSACTION
+}
\ No newline at end of file
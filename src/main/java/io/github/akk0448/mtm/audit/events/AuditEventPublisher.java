@@ -15,9 +15,9 @@ public class AuditEventPublisher {
     private final ApplicationEventPublisher publisher;
 
     /**
-     * Publishes Many-to-Many audit event.
+     * Publishes the {@link ManyToManyAuditEvent} view of an audit record to application listeners.
      */
-    public void publish(ManyToManyAuditEvent event) {
-        publisher.publishEvent(event);
+    public void publishAuditEvent(ManyToManyAuditRecord record) {
+        publisher.publishEvent(record.toEvent());
     }
 }
\ No newline at end of file
@@ -1,16 +1,15 @@
 package io.github.akk0448.mtm.audit.events;
 
+import io.github.akk0448.mtm.audit.context.AuditorAwareContextProvider;
+import io.github.akk0448.mtm.audit.context.SecurityContextAuditorAware;
 import io.github.akk0448.mtm.audit.enums.AuditAction;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.Optional;
+import java.time.ZoneOffset;
 
 /**
- * Audit event for Many-to-Many association changes.
+ * Audit event for Many-to-Many association changes, published to application listeners.
  *
  * @param joinColumns owning side columns and values
  * @param inverseJoinColumns inverse side columns and values
@@ -29,19 +28,23 @@ public record ManyToManyAuditEvent(ManyToManyJoinColumn[] joinColumns, ManyToMan
 
     /**
      * Creates ManyToManyAuditEvent with automatic timestamp and user extraction.
+     *
+     * @deprecated the library builds events through {@link ManyToManyAuditRecord#toEvent()};
+     * this factory takes the auditor from the Spring Security context only and ignores any
+     * configured {@code AuditorAware} or {@code AuditContextProvider}.
      */
+    @Deprecated(since = "1.1.0", forRemoval = true)
     public static ManyToManyAuditEvent createAuditEvent(ManyToManyJoinColumn[] joinColumns,
                                                         ManyToManyJoinColumn[] inverseJoinColumns,
                                                         AuditAction action, String tableName, long auditTimestamp) {
-        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(auditTimestamp), ZoneId.of("UTC"));
-        String currentUser = Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
-                .map(Authentication::getName)
-                .orElse("anonymousUser");
+        LocalDateTime auditTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(auditTimestamp), ZoneOffset.UTC);
+        String auditor = new SecurityContextAuditorAware().getCurrentAuditor()
+                .orElse(AuditorAwareContextProvider.ANONYMOUS_AUDITOR);
 
         return new ManyToManyAuditEvent(
                 joinColumns, inverseJoinColumns,
                 action, tableName,
-                now, currentUser, now, currentUser
+                auditTime, auditor, auditTime, auditor
         );
     }
 }
\ No newline at end of file
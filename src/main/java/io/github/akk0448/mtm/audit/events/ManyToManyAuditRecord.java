@@ -0,0 +1,65 @@
+package io.github.akk0448.mtm.audit.events;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact form of a Many-to-Many audit event, carried through capture, buffering and
+ * persistence. Column names and the target table are shared through the association
+ * metadata, so only the key values, one timestamp and one auditor are held per row.
+ * The {@link ManyToManyAuditEvent} view is built on demand for application listeners.
+ *
+ * @param metadata metadata of the audited association
+ * @param action audit action performed
+ * @param keyValues join column values followed by inverse join column values
+ * @param timestamp Envers revision timestamp in epoch milliseconds
+ * @param auditor user who performed the change
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public record ManyToManyAuditRecord(AuditManyToManyAssociationMetadata metadata, AuditAction action,
+                                    Object[] keyValues, long timestamp, String auditor) {
+
+    /**
+     * Returns the target audit table name.
+     */
+    public String tableName() {
+        return metadata.tableName();
+    }
+
+    /**
+     * Returns the audit time in UTC.
+     */
+    public LocalDateTime auditTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
+    }
+
+    /**
+     * Builds the {@link ManyToManyAuditEvent} view of this audit record.
+     */
+    public ManyToManyAuditEvent toEvent() {
+        AuditJoinColumn[] joinColumns = metadata.joinColumns();
+        AuditJoinColumn[] inverseJoinColumns = metadata.inverseJoinColumns();
+        LocalDateTime auditTime = auditTime();
+
+        return new ManyToManyAuditEvent(
+                columns(joinColumns, 0),
+                columns(inverseJoinColumns, joinColumns.length),
+                action, metadata.tableName(),
+                auditTime, auditor, auditTime, auditor
+        );
+    }
+
+    private ManyToManyJoinColumn[] columns(AuditJoinColumn[] columns, int offset) {
+        ManyToManyJoinColumn[] joinColumns = new ManyToManyJoinColumn[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            joinColumns[i] = new ManyToManyJoinColumn(columns[i].columnName(), keyValues[offset + i]);
+        }
+        return joinColumns;
+    }
+}
\ No newline at end of file
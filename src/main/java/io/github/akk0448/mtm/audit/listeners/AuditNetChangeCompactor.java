@@ -0,0 +1,62 @@
+package io.github.akk0448.mtm.audit.listeners;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+
+import java.util.*;
+
+/**
+ * Reduces the audit records of one transaction to their net change. An insert and a
+ * delete of the same key tuple in the same audit table cancel each other, so a
+ * collection rebuilt wholesale by Hibernate leaves records only for the pairs that
+ * actually changed. Update records are kept as they are.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+final class AuditNetChangeCompactor {
+
+    private AuditNetChangeCompactor() {
+    }
+
+    /**
+     * Returns the records left after cancelling opposite changes, in capture order.
+     */
+    static List<ManyToManyAuditRecord> compact(List<ManyToManyAuditRecord> records) {
+        boolean[] cancelled = new boolean[records.size()];
+        Map<PairKey, Deque<Integer>> pending = new HashMap<>();
+        int remaining = records.size();
+
+        for (int i = 0; i < records.size(); i++) {
+            ManyToManyAuditRecord record = records.get(i);
+            if (record.action() == AuditAction.UPDATE) continue;
+
+            Deque<Integer> unmatched = pending.computeIfAbsent(
+                    new PairKey(record.metadata(), Arrays.asList(record.keyValues())), key -> new ArrayDeque<>());
+            Integer previous = unmatched.peekLast();
+            if (previous != null && records.get(previous).action() != record.action()) {
+                unmatched.pollLast();
+                cancelled[previous] = true;
+                cancelled[i] = true;
+                remaining -= 2;
+            } else {
+                unmatched.addLast(i);
+            }
+        }
+
+        if (remaining == records.size()) {
+            return records;
+        }
+        List<ManyToManyAuditRecord> compacted = new ArrayList<>(remaining);
+        for (int i = 0; i < records.size(); i++) {
+            if (!cancelled[i]) {
+                compacted.add(records.get(i));
+            }
+        }
+        return compacted;
+    }
+
+    private record PairKey(AuditManyToManyAssociationMetadata metadata, List<Object> keyValues) {
+    }
+}
\ No newline at end of file
@@ -1,52 +1,117 @@
 package io.github.akk0448.mtm.audit.listeners;
 
+import io.github.akk0448.mtm.audit.context.AuditContextProvider;
 import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.enums.AuditWriteMode;
 import io.github.akk0448.mtm.audit.events.AuditEventPublisher;
-import io.github.akk0448.mtm.audit.events.ManyToManyJoinColumn;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
 import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
 import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import io.github.akk0448.mtm.audit.service.ManyToManyAuditService;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Transaction;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.envers.DefaultRevisionEntity;
 import org.hibernate.envers.RevisionType;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.PostInsertEvent;
 import org.hibernate.event.spi.PostInsertEventListener;
 import org.hibernate.persister.entity.EntityPersister;
 
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
-import static io.github.akk0448.mtm.audit.events.ManyToManyAuditEvent.createAuditEvent;
 import static io.github.akk0448.mtm.audit.utils.AuditUtils.*;
 
 /**
  * Hibernate event listener for Many-to-Many association audit events.
- * Captures POST-INSERT events on join table audit records.
+ * Captures POST-INSERT events on join table audit records and hands the resulting
+ * audit records straight to the audit writer, without going through Spring's event
+ * multicaster.
+ * In same-transaction mode the captured audit records are gathered per transaction
+ * and written within it before it completes, except for audit tables routed to a
+ * sink that cannot write within the transaction.
+ * With net-change compaction enabled, records are gathered per transaction in every
+ * mode and only the net change is persisted or published.
  *
  * @author Aniket Kumar
  * @since 1.0.0
  */
 @Slf4j
+@SuppressWarnings("serial")
 public class ManyToManyAssociationListener implements PostInsertEventListener {
 
     private final ManyToManyAuditScanner auditScanner;
     private final AuditEventPublisher auditEventPublisher;
+    private final Consumer<ManyToManyAuditRecord> auditWriter;
+    private final ManyToManyAuditService auditService;
+    private final AuditSinkRouter sinkRouter;
+    private final AuditWriteMode writeMode;
+    private final boolean publishEvents;
+    private final boolean compactNetChanges;
+    private final AuditMetrics metrics;
+    private final AuditContextProvider contextProvider;
+    private final Map<Transaction, SessionAuditProcess> sessionAuditProcesses = new ConcurrentHashMap<>();
+    private volatile Map<EntityPersister, AuditManyToManyAssociationMetadata> persisterMetadata;
 
-    public ManyToManyAssociationListener(ManyToManyAuditScanner auditScanner, AuditEventPublisher auditEventPublisher) {
+    /**
+     * @param auditWriter receives captured audit records in the write modes persisting after commit
+     */
+    public ManyToManyAssociationListener(ManyToManyAuditScanner auditScanner, AuditEventPublisher auditEventPublisher,
+                                         Consumer<ManyToManyAuditRecord> auditWriter,
+                                         ManyToManyAuditService auditService, AuditSinkRouter sinkRouter,
+                                         AuditWriteMode writeMode, boolean publishEvents, boolean compactNetChanges,
+                                         AuditMetrics metrics, AuditContextProvider contextProvider) {
         this.auditScanner = auditScanner;
         this.auditEventPublisher = auditEventPublisher;
+        this.auditWriter = auditWriter;
+        this.auditService = auditService;
+        this.sinkRouter = sinkRouter;
+        this.writeMode = writeMode;
+        this.publishEvents = publishEvents;
+        this.compactNetChanges = compactNetChanges;
+        this.metrics = metrics;
+        this.contextProvider = contextProvider;
+    }
+
+    /**
+     * Resolves the persisters of the audited join table entities, so that events are
+     * matched by persister identity instead of by entity name. Called once the session
+     * factory is built.
+     *
+     * @param persisterLookup returns the persister of an entity name
+     */
+    public void resolvePersisters(Function<String, EntityPersister> persisterLookup) {
+        Map<EntityPersister, AuditManyToManyAssociationMetadata> resolved = new IdentityHashMap<>();
+        auditScanner.getAuditAssociationMetadata().forEach((entityName, metadata) -> {
+            try {
+                resolved.put(persisterLookup.apply(entityName), metadata);
+            } catch (RuntimeException e) {
+                log.warn("No persister found for audited entity [{}]: {}", entityName, e.getMessage());
+            }
+        });
+        this.persisterMetadata = resolved;
     }
 
     /**
      * Handles POST-INSERT events on Many-to-Many association audit tables.
+     * Rows of associations or actions excluded from auditing are skipped before any
+     * audit record is built.
      */
     @Override
     public void onPostInsert(PostInsertEvent event) {
-        Map<String, AuditManyToManyAssociationMetadata> auditAssociationMetadata =
-                auditScanner.getAuditAssociationMetadata();
-
-        if (!auditAssociationMetadata.containsKey(event.getPersister().getEntityName())) return;
-
-        String entityName = event.getPersister().getEntityName();
-        AuditManyToManyAssociationMetadata metadata = auditAssociationMetadata.get(entityName);
+        Map<EntityPersister, AuditManyToManyAssociationMetadata> persisters = persisterMetadata;
+        AuditManyToManyAssociationMetadata metadata = persisters != null
+                ? persisters.get(event.getPersister())
+                : auditScanner.getAuditAssociationMetadata().get(event.getPersister().getEntityName());
+        if (metadata == null) return;
 
         Object rawEntity = event.getEntity();
         if (!(rawEntity instanceof Map<?, ?> rawMap)) {
@@ -55,30 +120,104 @@ public class ManyToManyAssociationListener implements PostInsertEventListener {
         }
         @SuppressWarnings("unchecked")
         Map<String, Object> entity = (Map<String, Object>) rawMap;
+        AuditAction action = resolveAuditAction((RevisionType) entity.get("REV_TYPE"));
+        if (!metadata.captures(action)) return;
+
         @SuppressWarnings("unchecked")
         Map<String, Object> record = (Map<String, Object>) entity.get("originalId");
 
-        ManyToManyJoinColumn[] joinColumns = getColumnData(record, metadata.joinColumns());
-        ManyToManyJoinColumn[] inverseJoinColumns = getColumnData(record, metadata.inverseJoinColumns());
+        if (metadata.joinColumns().length == 0 || metadata.inverseJoinColumns().length == 0) {
+            log.warn("Missing join/inverse column in record [{}] for table [{}]", record, metadata.tableName());
+            return;
+        }
+
+        ManyToManyAuditRecord auditRecord = new ManyToManyAuditRecord(
+                metadata,
+                action,
+                getKeyValues(record, metadata),
+                resolveAuditTimestamp((DefaultRevisionEntity) record.get("REV_ID")),
+                contextProvider.getCurrentAuditor()
+        );
+        metrics.captured(auditRecord);
+
+        EventSource session = event.getSession();
+        if (writeMode == AuditWriteMode.SAME_TRANSACTION) {
+            if (session.isTransactionInProgress()) {
+                getSessionAuditProcess(session).add(auditRecord);
+                if (compactNetChanges) return;
+            } else {
+                persistOutsideTransaction(session, auditRecord);
+            }
+            if (publishEvents) {
+                auditEventPublisher.publishAuditEvent(auditRecord);
+            }
+            return;
+        }
 
-        if (joinColumns.length == 0 || inverseJoinColumns.length == 0) {
-            log.warn("Missing join/inverse column in record [{}] for table [{}]", record, entityName);
+        if (compactNetChanges && session.isTransactionInProgress()) {
+            getSessionAuditProcess(session).add(auditRecord);
             return;
         }
+        dispatch(auditRecord);
+    }
+
+    private void dispatch(ManyToManyAuditRecord auditRecord) {
+        auditWriter.accept(auditRecord);
+        if (publishEvents) {
+            auditEventPublisher.publishAuditEvent(auditRecord);
+        }
+    }
+
+    /**
+     * Returns the audit process of the session's transaction, registering a new one
+     * with the session's action queue on first use.
+     */
+    private SessionAuditProcess getSessionAuditProcess(EventSource session) {
+        Transaction transaction = session.accessTransaction();
+        SessionAuditProcess process = sessionAuditProcesses.get(transaction);
+
+        if (process == null) {
+            Runnable onCompletion = () -> sessionAuditProcesses.remove(transaction);
+            if (writeMode != AuditWriteMode.SAME_TRANSACTION) {
+                process = new SessionAuditProcess(null, null, metrics, true, this::dispatch, onCompletion);
+            } else if (compactNetChanges && publishEvents) {
+                process = new SessionAuditProcess(auditService, sinkRouter, metrics, true,
+                        auditEventPublisher::publishAuditEvent, onCompletion);
+            } else {
+                process = new SessionAuditProcess(auditService, sinkRouter, metrics, compactNetChanges, null,
+                        onCompletion);
+            }
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) process);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) process);
+            sessionAuditProcesses.put(transaction, process);
+        }
 
-        AuditAction auditAction = resolveAuditAction((RevisionType) entity.get("REV_TYPE"));
-        long auditTimestamp = resolveAuditTimestamp((DefaultRevisionEntity) record.get("REV_ID"));
+        return process;
+    }
 
-        auditEventPublisher.publish(createAuditEvent(
-                joinColumns,
-                inverseJoinColumns,
-                auditAction,
-                metadata.tableName(),
-                auditTimestamp
-        ));
+    private void persistOutsideTransaction(EventSource session, ManyToManyAuditRecord auditRecord) {
+        List<ManyToManyAuditRecord> records = List.of(auditRecord);
+        long start = System.nanoTime();
+        try {
+            if (sinkRouter == null) {
+                auditService.persistAuditEntities(session, records);
+            } else if (sinkRouter.isTransactional(auditRecord.metadata())) {
+                sinkRouter.write(session, records);
+            } else {
+                sinkRouter.write(records);
+            }
+        } catch (RuntimeException e) {
+            metrics.failed(records);
+            throw e;
+        }
+        metrics.persisted(records, System.nanoTime() - start);
     }
 
+    /**
+     * Still abstract in Hibernate 5, so it is implemented instead of {@code requiresPostCommitHandling}.
+     */
     @Override
+    @SuppressWarnings("deprecation")
     public boolean requiresPostCommitHanding(EntityPersister persister) {
         return false;
     }
@@ -1,13 +1,20 @@
 package io.github.akk0448.mtm.audit.listeners;
 
-import io.github.akk0448.mtm.audit.events.ManyToManyAuditEvent;
-import io.github.akk0448.mtm.audit.service.ManyToManyAuditService;
+import io.github.akk0448.mtm.audit.enums.AuditWriteMode;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
+import io.github.akk0448.mtm.audit.spool.AuditSpool;
+import io.github.akk0448.mtm.audit.writer.AsyncAuditWriter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 /**
- * Listens for and processes Many-to-Many audit events after transaction commit.
+ * Writes Many-to-Many audit events handed over by {@link ManyToManyAssociationListener}
+ * after transaction commit. Events raised within a transaction are collected and
+ * written once it commits.
  *
  * @author Aniket Kumar
  * @since 1.0.0
@@ -15,23 +22,96 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Slf4j
 public class ManyToManyAuditEventListener {
 
-    private final ManyToManyAuditService auditService;
+    private final AuditSinkRouter sinkRouter;
+    private final AuditWriteMode writeMode;
+    private final AsyncAuditWriter asyncWriter;
+    private final AuditSpool spool;
+    private final AuditMetrics metrics;
 
-    public ManyToManyAuditEventListener(ManyToManyAuditService auditService) {
-        this.auditService = auditService;
+    public ManyToManyAuditEventListener(AuditSinkRouter sinkRouter, AuditWriteMode writeMode,
+                                        AsyncAuditWriter asyncWriter, AuditSpool spool, AuditMetrics metrics) {
+        if (writeMode == AuditWriteMode.ASYNC && asyncWriter == null) {
+            throw new IllegalArgumentException("Async write mode requires an AsyncAuditWriter");
+        }
+        this.sinkRouter = sinkRouter;
+        this.writeMode = writeMode;
+        this.asyncWriter = asyncWriter;
+        this.spool = spool;
+        this.metrics = metrics;
     }
 
     /**
-     * Handles Many-to-Many audit event after successful transaction commit.
+     * Collects Many-to-Many audit event for persistence after successful transaction commit.
+     * Events raised outside a transaction are persisted immediately. Nothing is done in
+     * same-transaction mode, where audit records are written as they are captured.
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void handleAuditEvent(ManyToManyAuditEvent event) {
-        try {
-            auditService.persistAuditEntity(event);
-        } catch (Exception e) {
-            log.error("Failed to persist audit table [{}]: {}",
-                    event.tableName(),
-                    e.getMessage(), e);
+    public void handleAuditEvent(ManyToManyAuditRecord event) {
+        if (writeMode == AuditWriteMode.SAME_TRANSACTION) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            persist(List.of(event));
+            return;
+        }
+
+        TransactionAuditBuffer buffer = (TransactionAuditBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new TransactionAuditBuffer(this, this::persist);
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.add(event);
+    }
+
+    private void persist(List<ManyToManyAuditRecord> events) {
+        if (writeMode == AuditWriteMode.ASYNC) {
+            asyncWriter.submit(events);
+            return;
+        }
+
+        AuditSpool.Segment segment = spool != null ? spool.tryAppend(events) : null;
+
+        if (writeMode == AuditWriteMode.BATCH) {
+            long start = System.nanoTime();
+            try {
+                sinkRouter.write(events);
+                metrics.persisted(events, System.nanoTime() - start);
+                acknowledge(segment, events.size());
+            } catch (Exception e) {
+                metrics.failed(events);
+                log.error("Failed to persist batch of {} audit records: {}",
+                        events.size(),
+                        e.getMessage(), e);
+                retry(segment, events);
+            }
+            return;
+        }
+
+        for (ManyToManyAuditRecord event : events) {
+            List<ManyToManyAuditRecord> persisted = List.of(event);
+            long start = System.nanoTime();
+            try {
+                sinkRouter.write(persisted);
+                metrics.persisted(persisted, System.nanoTime() - start);
+                acknowledge(segment, 1);
+            } catch (Exception e) {
+                metrics.failed(persisted);
+                log.error("Failed to persist audit table [{}]: {}",
+                        event.tableName(),
+                        e.getMessage(), e);
+                retry(segment, persisted);
+            }
+        }
+    }
+
+    private static void acknowledge(AuditSpool.Segment segment, int count) {
+        if (segment != null) {
+            segment.acknowledge(count);
+        }
+    }
+
+    private static void retry(AuditSpool.Segment segment, List<ManyToManyAuditRecord> events) {
+        if (segment != null) {
+            segment.retry(events);
         }
     }
 }
\ No newline at end of file
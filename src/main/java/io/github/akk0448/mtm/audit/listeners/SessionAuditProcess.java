@@ -0,0 +1,135 @@
+package io.github.akk0448.mtm.audit.listeners;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
+import io.github.akk0448.mtm.audit.service.ManyToManyAuditService;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Gathers the Many-to-Many audit events captured in a session's transaction and
+ * handles them in one pass before the transaction completes, the same way Envers
+ * writes its own audit records. The events are optionally compacted to their net
+ * change, then written on the session's connection and/or handed to a publisher.
+ * Events of audit tables routed to a sink that cannot write within the transaction
+ * are written to that sink once the transaction has committed.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+class SessionAuditProcess implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+    private final ManyToManyAuditService auditService;
+    private final AuditSinkRouter sinkRouter;
+    private final AuditMetrics metrics;
+    private final boolean compactNetChanges;
+    private final Consumer<ManyToManyAuditRecord> publisher;
+    private final Runnable onCompletion;
+    private List<ManyToManyAuditRecord> events = new ArrayList<>();
+    private List<ManyToManyAuditRecord> sessionEvents = List.of();
+    private List<ManyToManyAuditRecord> deferredEvents = List.of();
+    private long persistNanos = -1;
+
+    /**
+     * @param auditService service writing the events on the session, or {@code null} to only publish them
+     * @param sinkRouter router writing the events of transactional sinks within the transaction, or {@code null}
+     *                   to write all of them on the session through the audit service
+     * @param publisher receives each remaining event after the write, or {@code null} to publish nothing
+     */
+    SessionAuditProcess(ManyToManyAuditService auditService, AuditSinkRouter sinkRouter, AuditMetrics metrics,
+                        boolean compactNetChanges, Consumer<ManyToManyAuditRecord> publisher, Runnable onCompletion) {
+        this.auditService = auditService;
+        this.sinkRouter = sinkRouter;
+        this.metrics = metrics;
+        this.compactNetChanges = compactNetChanges;
+        this.publisher = publisher;
+        this.onCompletion = onCompletion;
+    }
+
+    void add(ManyToManyAuditRecord event) {
+        events.add(event);
+    }
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+        if (compactNetChanges) {
+            int captured = events.size();
+            events = AuditNetChangeCompactor.compact(events);
+            if (events.size() < captured) {
+                metrics.compacted(captured - events.size());
+            }
+        }
+
+        if (auditService != null) {
+            splitBySink();
+            long start = System.nanoTime();
+            try {
+                if (sinkRouter == null) {
+                    auditService.persistAuditEntities(session, sessionEvents);
+                } else {
+                    sinkRouter.write(session, sessionEvents);
+                }
+            } catch (RuntimeException e) {
+                metrics.failed(sessionEvents);
+                throw e;
+            }
+            persistNanos = System.nanoTime() - start;
+        }
+
+        if (publisher != null) {
+            events.forEach(publisher);
+        }
+    }
+
+    @Override
+    public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+        onCompletion.run();
+        if (!success) return;
+
+        if (persistNanos >= 0 && !sessionEvents.isEmpty()) {
+            metrics.persisted(sessionEvents, persistNanos);
+        }
+        if (!deferredEvents.isEmpty()) {
+            writeDeferred();
+        }
+    }
+
+    /**
+     * Splits the events into those written within the transaction and those written to
+     * non-transactional sinks after commit.
+     */
+    private void splitBySink() {
+        if (sinkRouter == null) {
+            sessionEvents = events;
+            return;
+        }
+
+        sessionEvents = new ArrayList<>(events.size());
+        deferredEvents = new ArrayList<>();
+        for (ManyToManyAuditRecord event : events) {
+            (sinkRouter.isTransactional(event.metadata()) ? sessionEvents : deferredEvents).add(event);
+        }
+    }
+
+    private void writeDeferred() {
+        long start = System.nanoTime();
+        try {
+            sinkRouter.write(deferredEvents);
+            metrics.persisted(deferredEvents, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            metrics.failed(deferredEvents);
+            log.error("Failed to write {} audit records to their sinks: {}",
+                    deferredEvents.size(),
+                    e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package io.github.akk0448.mtm.audit.listeners;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Collects Many-to-Many audit events raised within a single transaction
+ * and hands them over together once the transaction commits.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+class TransactionAuditBuffer implements TransactionSynchronization {
+
+    private final Object resourceKey;
+    private final Consumer<List<ManyToManyAuditRecord>> onCommit;
+    private final List<ManyToManyAuditRecord> events = new ArrayList<>();
+
+    TransactionAuditBuffer(Object resourceKey, Consumer<List<ManyToManyAuditRecord>> onCommit) {
+        this.resourceKey = resourceKey;
+        this.onCommit = onCommit;
+    }
+
+    void add(ManyToManyAuditRecord event) {
+        events.add(event);
+    }
+
+    @Override
+    public void afterCommit() {
+        onCommit.accept(events);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package io.github.akk0448.mtm.audit.metadata;
+
+/**
+ * Precompiled INSERT statement for a Many-to-Many audit table.
+ * Built once per table from the scanned association metadata, so audit rows
+ * can be bound by position without rebuilding the statement per event.
+ *
+ * <p>Each entry of {@code bindOrder} describes the value bound to the parameter
+ * at the same position: a non-negative entry is the index of a key column,
+ * counting join columns first and inverse join columns after them, and a negative
+ * entry is one of the audit column slots declared on this record.</p>
+ *
+ * @param sql the INSERT statement with positional parameters
+ * @param bindOrder value slot bound to each statement parameter
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public record AuditInsertPlan(String sql, int[] bindOrder) {
+
+    public static final int ACTION = -1;
+    public static final int CREATED_BY = -2;
+    public static final int CREATED_ON = -3;
+    public static final int UPDATED_BY = -4;
+    public static final int UPDATED_ON = -5;
+
+    private static final String[] AUDIT_COLUMNS = {"action", "created_by", "created_on", "updated_by", "updated_on"};
+    private static final int[] AUDIT_SLOTS = {ACTION, CREATED_BY, CREATED_ON, UPDATED_BY, UPDATED_ON};
+
+    /**
+     * Builds the INSERT plan for an audit table.
+     *
+     * @param tableName the audit table name
+     * @param joinColumns columns from the owning entity side
+     * @param inverseJoinColumns columns from the inverse entity side
+     * @return the precompiled insert plan
+     */
+    public static AuditInsertPlan of(String tableName, AuditJoinColumn[] joinColumns, AuditJoinColumn[] inverseJoinColumns) {
+        int keyCount = joinColumns.length + inverseJoinColumns.length;
+        int[] bindOrder = new int[keyCount + AUDIT_COLUMNS.length];
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+
+        for (AuditJoinColumn col : joinColumns) {
+            appendColumn(columns, placeholders, col.columnName());
+        }
+        for (AuditJoinColumn col : inverseJoinColumns) {
+            appendColumn(columns, placeholders, col.columnName());
+        }
+        for (int i = 0; i < keyCount; i++) {
+            bindOrder[i] = i;
+        }
+        for (int i = 0; i < AUDIT_COLUMNS.length; i++) {
+            appendColumn(columns, placeholders, AUDIT_COLUMNS[i]);
+            bindOrder[keyCount + i] = AUDIT_SLOTS[i];
+        }
+
+        return new AuditInsertPlan(
+                String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columns, placeholders),
+                bindOrder
+        );
+    }
+
+    private static void appendColumn(StringBuilder columns, StringBuilder placeholders, String columnName) {
+        if (!columns.isEmpty()) {
+            columns.append(", ");
+            placeholders.append(", ");
+        }
+        columns.append(columnName);
+        placeholders.append('?');
+    }
+}
\ No newline at end of file
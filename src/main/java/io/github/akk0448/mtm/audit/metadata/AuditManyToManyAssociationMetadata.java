@@ -1,5 +1,10 @@
 package io.github.akk0448.mtm.audit.metadata;
 
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Metadata container for Many-to-Many association audit configuration.
  * Defines the structure and mapping requirements for audit table generation
@@ -8,12 +13,42 @@ package io.github.akk0448.mtm.audit.metadata;
  * @param tableName the target audit table name
  * @param joinColumns columns from the owning entity side
  * @param inverseJoinColumns columns from the inverse entity side
+ * @param insertPlan precompiled INSERT statement for the audit table
+ * @param actions audit actions captured for the association
  * @author Aniket Kumar
  * @since 1.0.0
  */
 public record AuditManyToManyAssociationMetadata(
         String tableName,
         AuditJoinColumn[] joinColumns,
-        AuditJoinColumn[] inverseJoinColumns
+        AuditJoinColumn[] inverseJoinColumns,
+        AuditInsertPlan insertPlan,
+        Set<AuditAction> actions
 ) {
+
+    /**
+     * Creates metadata capturing every audit action and precompiles the INSERT statement
+     * for the audit table.
+     */
+    public AuditManyToManyAssociationMetadata(String tableName, AuditJoinColumn[] joinColumns,
+                                              AuditJoinColumn[] inverseJoinColumns) {
+        this(tableName, joinColumns, inverseJoinColumns, EnumSet.allOf(AuditAction.class));
+    }
+
+    /**
+     * Creates metadata capturing the given audit actions and precompiles the INSERT
+     * statement for the audit table.
+     */
+    public AuditManyToManyAssociationMetadata(String tableName, AuditJoinColumn[] joinColumns,
+                                              AuditJoinColumn[] inverseJoinColumns, Set<AuditAction> actions) {
+        this(tableName, joinColumns, inverseJoinColumns,
+                AuditInsertPlan.of(tableName, joinColumns, inverseJoinColumns), actions);
+    }
+
+    /**
+     * Returns whether audit records of the given action are captured.
+     */
+    public boolean captures(AuditAction action) {
+        return actions.contains(action);
+    }
 }
\ No newline at end of file
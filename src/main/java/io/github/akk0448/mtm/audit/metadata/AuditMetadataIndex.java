@@ -0,0 +1,219 @@
+package io.github.akk0448.mtm.audit.metadata;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Index of audited Many-to-Many associations generated at build time by
+ * {@code AuditMetadataProcessor}, so the scanner can skip reflective field lookups.
+ *
+ * <p>Each index file lists the audited associations of the annotated entities compiled
+ * with it, together with the actions captured for each of them. Associations excluded
+ * by the annotation are left out. Files of another format version are ignored, so
+ * their entities are scanned instead:</p>
+ * <pre>
+ * mtm-audit.format-version=2
+ * com.example.User=roles
+ * com.example.User.roles.table=user_roles
+ * com.example.User.roles.actions=INSERT,DELETE
+ * com.example.User.roles.joinColumns=user_id:User_id:java.lang.Long
+ * com.example.User.roles.inverseJoinColumns=role_id:roles_id:java.lang.Long
+ * </pre>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public final class AuditMetadataIndex {
+
+    /**
+     * Class path location of the index files.
+     */
+    public static final String LOCATION = "META-INF/mtm-audit/association-index.properties";
+
+    /**
+     * Format version written to and expected in index files.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final String FORMAT_VERSION_KEY = "mtm-audit.format-version";
+    private static final String TABLE = ".table";
+    private static final String ACTIONS = ".actions";
+    private static final String JOIN_COLUMNS = ".joinColumns";
+    private static final String INVERSE_JOIN_COLUMNS = ".inverseJoinColumns";
+
+    private final Map<String, List<IndexedAssociation>> associations;
+
+    private AuditMetadataIndex(Map<String, List<IndexedAssociation>> associations) {
+        this.associations = associations;
+    }
+
+    /**
+     * Returns an index that covers no entity.
+     */
+    public static AuditMetadataIndex empty() {
+        return new AuditMetadataIndex(Map.of());
+    }
+
+    /**
+     * Loads and merges every index file of the current format version visible to the
+     * given class loader.
+     *
+     * @param classLoader the class loader to search
+     * @return the merged index, empty when no current index file is present
+     * @throws IOException if an index file cannot be read
+     */
+    public static AuditMetadataIndex load(ClassLoader classLoader) throws IOException {
+        Map<String, List<IndexedAssociation>> associations = new HashMap<>();
+
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+        while (resources.hasMoreElements()) {
+            Properties properties = new Properties();
+            try (InputStream in = resources.nextElement().openStream()) {
+                properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+            if (String.valueOf(FORMAT_VERSION).equals(properties.getProperty(FORMAT_VERSION_KEY))) {
+                associations.putAll(read(properties));
+            }
+        }
+
+        return new AuditMetadataIndex(associations);
+    }
+
+    /**
+     * Returns the indexed associations of an entity class.
+     *
+     * @param entityClassName binary name of the entity class
+     * @return the associations, or {@code null} if the entity is not indexed
+     */
+    public List<IndexedAssociation> getAssociations(String entityClassName) {
+        return associations.get(entityClassName);
+    }
+
+    /**
+     * Returns whether no entity is indexed.
+     */
+    public boolean isEmpty() {
+        return associations.isEmpty();
+    }
+
+    /**
+     * Writes an index file for the given entities.
+     *
+     * @param associations associations keyed by binary entity class name
+     * @param out the writer receiving the index
+     * @throws IOException if writing fails
+     */
+    public static void write(Map<String, List<IndexedAssociation>> associations, Writer out) throws IOException {
+        out.write("# Generated by AuditMetadataProcessor, do not edit\n");
+        out.write(FORMAT_VERSION_KEY + "=" + FORMAT_VERSION + "\n");
+
+        for (Map.Entry<String, List<IndexedAssociation>> entry : new TreeMap<>(associations).entrySet()) {
+            String entity = entry.getKey();
+            StringJoiner fields = new StringJoiner(",");
+            entry.getValue().forEach(association -> fields.add(association.fieldName()));
+            out.write(entity + "=" + fields + "\n");
+
+            for (IndexedAssociation association : entry.getValue()) {
+                String prefix = entity + "." + association.fieldName();
+                out.write(prefix + TABLE + "=" + association.tableName() + "\n");
+                out.write(prefix + ACTIONS + "=" + formatActions(association.actions()) + "\n");
+                out.write(prefix + JOIN_COLUMNS + "=" + formatColumns(association.joinColumns()) + "\n");
+                out.write(prefix + INVERSE_JOIN_COLUMNS + "=" + formatColumns(association.inverseJoinColumns()) + "\n");
+            }
+        }
+    }
+
+    private static Map<String, List<IndexedAssociation>> read(Properties properties) throws IOException {
+        Map<String, List<IndexedAssociation>> associations = new HashMap<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            if (key.equals(FORMAT_VERSION_KEY) || key.endsWith(TABLE) || key.endsWith(ACTIONS)
+                    || key.endsWith(JOIN_COLUMNS) || key.endsWith(INVERSE_JOIN_COLUMNS)) continue;
+
+            List<IndexedAssociation> entityAssociations = new ArrayList<>();
+            String fields = properties.getProperty(key);
+            for (String field : fields.isEmpty() ? new String[0] : fields.split(",")) {
+                String prefix = key + "." + field;
+                String tableName = properties.getProperty(prefix + TABLE);
+                String actions = properties.getProperty(prefix + ACTIONS);
+                if (tableName == null || actions == null) {
+                    throw new InvalidObjectException("Incomplete audit metadata index entry: " + prefix);
+                }
+                entityAssociations.add(new IndexedAssociation(field, tableName, parseActions(actions),
+                        parseColumns(properties.getProperty(prefix + JOIN_COLUMNS, "")),
+                        parseColumns(properties.getProperty(prefix + INVERSE_JOIN_COLUMNS, ""))));
+            }
+            associations.put(key, entityAssociations);
+        }
+
+        return associations;
+    }
+
+    private static String formatActions(Set<AuditAction> actions) {
+        StringJoiner joiner = new StringJoiner(",");
+        actions.forEach(action -> joiner.add(action.name()));
+        return joiner.toString();
+    }
+
+    private static Set<AuditAction> parseActions(String value) throws InvalidObjectException {
+        Set<AuditAction> actions = EnumSet.noneOf(AuditAction.class);
+        for (String action : value.isEmpty() ? new String[0] : value.split(",")) {
+            try {
+                actions.add(AuditAction.valueOf(action));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidObjectException("Unknown audit action in audit metadata index: " + action);
+            }
+        }
+        return actions;
+    }
+
+    private static String formatColumns(IndexedColumn[] columns) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (IndexedColumn column : columns) {
+            joiner.add(column.columnName() + ":" + column.auditColumnName() + ":" + column.typeName());
+        }
+        return joiner.toString();
+    }
+
+    private static IndexedColumn[] parseColumns(String value) throws InvalidObjectException {
+        if (value.isEmpty()) return new IndexedColumn[0];
+
+        String[] entries = value.split(",");
+        IndexedColumn[] columns = new IndexedColumn[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].split(":");
+            if (parts.length != 3) {
+                throw new InvalidObjectException("Malformed audit metadata index column: " + entries[i]);
+            }
+            columns[i] = new IndexedColumn(parts[0], parts[1], parts[2]);
+        }
+        return columns;
+    }
+
+    /**
+     * Indexed Many-to-Many association of an audited entity.
+     *
+     * @param fieldName the association field name
+     * @param tableName the join table name
+     * @param actions audit actions captured for the association
+     * @param joinColumns columns from the owning entity side
+     * @param inverseJoinColumns columns from the inverse entity side
+     */
+    public record IndexedAssociation(String fieldName, String tableName, Set<AuditAction> actions,
+                                     IndexedColumn[] joinColumns, IndexedColumn[] inverseJoinColumns) {
+    }
+
+    /**
+     * Indexed join column.
+     *
+     * @param columnName the database column name
+     * @param auditColumnName the Envers property name of the column
+     * @param typeName binary name of the column's Java type
+     */
+    public record IndexedColumn(String columnName, String auditColumnName, String typeName) {
+    }
+}
\ No newline at end of file
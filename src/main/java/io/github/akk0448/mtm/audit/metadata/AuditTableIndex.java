@@ -0,0 +1,63 @@
+package io.github.akk0448.mtm.audit.metadata;
+
+import io.github.akk0448.mtm.audit.enums.AuditIndexType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Secondary index of a Many-to-Many audit table.
+ *
+ * @param name the index name, unique within the schema
+ * @param columns the indexed columns, in index order
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public record AuditTableIndex(String name, List<String> columns) {
+
+    private static final int MAX_NAME_LENGTH = 60;
+
+    /**
+     * Builds the index of the given type for an audit table.
+     *
+     * @param metadata the audit table metadata
+     * @param type the index type
+     * @return the index definition
+     */
+    public static AuditTableIndex of(AuditManyToManyAssociationMetadata metadata, AuditIndexType type) {
+        List<String> columns = new ArrayList<>();
+        String suffix = switch (type) {
+            case JOIN_COLUMNS -> {
+                addColumns(columns, metadata.joinColumns());
+                yield "join";
+            }
+            case INVERSE_JOIN_COLUMNS -> {
+                addColumns(columns, metadata.inverseJoinColumns());
+                yield "inverse";
+            }
+            case CREATED_ON -> "created_on";
+        };
+        columns.add("created_on");
+
+        return new AuditTableIndex(indexName(metadata.tableName(), suffix), List.copyOf(columns));
+    }
+
+    private static void addColumns(List<String> columns, AuditJoinColumn[] joinColumns) {
+        for (AuditJoinColumn col : joinColumns) {
+            columns.add(col.columnName());
+        }
+    }
+
+    /**
+     * Builds {@code ix_<table>_<suffix>}, shortened with a hash of the table name when it
+     * would exceed the identifier length accepted by the supported databases.
+     */
+    private static String indexName(String tableName, String suffix) {
+        String name = "ix_" + tableName + "_" + suffix;
+        if (name.length() <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        String hash = Integer.toHexString(tableName.hashCode());
+        return name.substring(0, MAX_NAME_LENGTH - suffix.length() - hash.length() - 2) + "_" + hash + "_" + suffix;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package io.github.akk0448.mtm.audit.metrics;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+
+import java.util.List;
+
+/**
+ * Records capture and persistence of Many-to-Many audit records.
+ * {@link #NOOP} is used when no metrics backend is configured.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public interface AuditMetrics {
+
+    /**
+     * Metrics implementation that records nothing.
+     */
+    AuditMetrics NOOP = new AuditMetrics() {
+    };
+
+    /**
+     * Records an audit event captured from an Envers audit record.
+     */
+    default void captured(ManyToManyAuditRecord event) {
+    }
+
+    /**
+     * Records audit events that were persisted and committed.
+     *
+     * @param events the persisted audit events
+     * @param elapsedNanos time spent writing the events
+     */
+    default void persisted(List<ManyToManyAuditRecord> events, long elapsedNanos) {
+    }
+
+    /**
+     * Records audit events that could not be persisted.
+     */
+    default void failed(List<ManyToManyAuditRecord> events) {
+    }
+
+    /**
+     * Records audit events discarded because the async writer queue was full.
+     */
+    default void dropped(int count) {
+    }
+
+    /**
+     * Records audit events cancelled out by net-change compaction.
+     */
+    default void compacted(int count) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package io.github.akk0448.mtm.audit.metrics;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.enums.AuditWriteMode;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer backed audit metrics.
+ *
+ * <ul>
+ *     <li>{@code mtm.audit.events.captured}: captured events per audit table and action</li>
+ *     <li>{@code mtm.audit.persist}: time spent writing a batch of audit records</li>
+ *     <li>{@code mtm.audit.batch.size}: number of audit records written together</li>
+ *     <li>{@code mtm.audit.persist.failures}: audit records that could not be written, per audit table</li>
+ *     <li>{@code mtm.audit.commit.lag}: time from the Envers revision to the audit record commit, per audit table</li>
+ *     <li>{@code mtm.audit.events.dropped}: events discarded by a full async writer queue</li>
+ *     <li>{@code mtm.audit.events.compacted}: events cancelled out by net-change compaction</li>
+ * </ul>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public class MicrometerAuditMetrics implements AuditMetrics {
+
+    private static final AuditAction[] ACTIONS = AuditAction.values();
+
+    private final MeterRegistry registry;
+    private final String writeMode;
+    private final Timer persistTimer;
+    private final DistributionSummary batchSize;
+    private final Counter dropped;
+    private final Counter compacted;
+    private final Map<String, Counter[]> capturedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> lagTimers = new ConcurrentHashMap<>();
+
+    public MicrometerAuditMetrics(MeterRegistry registry, AuditWriteMode writeMode) {
+        this.registry = registry;
+        this.writeMode = writeMode.name().toLowerCase();
+        this.persistTimer = Timer.builder("mtm.audit.persist")
+                .description("Time spent writing a batch of Many-to-Many audit records")
+                .tag("mode", this.writeMode)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("mtm.audit.batch.size")
+                .description("Number of Many-to-Many audit records written together")
+                .tag("mode", this.writeMode)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.dropped = Counter.builder("mtm.audit.events.dropped")
+                .description("Many-to-Many audit events discarded because the async writer queue was full")
+                .register(registry);
+        this.compacted = Counter.builder("mtm.audit.events.compacted")
+                .description("Many-to-Many audit events cancelled out by net-change compaction")
+                .register(registry);
+    }
+
+    @Override
+    public void captured(ManyToManyAuditRecord event) {
+        capturedCounters.computeIfAbsent(event.tableName(), this::capturedCounters)[event.action().ordinal()].increment();
+    }
+
+    @Override
+    public void persisted(List<ManyToManyAuditRecord> events, long elapsedNanos) {
+        persistTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        batchSize.record(events.size());
+
+        long now = System.currentTimeMillis();
+        for (ManyToManyAuditRecord event : events) {
+            lagTimers.computeIfAbsent(event.tableName(), this::lagTimer)
+                    .record(Math.max(0, now - event.timestamp()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void failed(List<ManyToManyAuditRecord> events) {
+        for (ManyToManyAuditRecord event : events) {
+            failureCounters.computeIfAbsent(event.tableName(), this::failureCounter).increment();
+        }
+    }
+
+    @Override
+    public void dropped(int count) {
+        dropped.increment(count);
+    }
+
+    @Override
+    public void compacted(int count) {
+        compacted.increment(count);
+    }
+
+    private Counter[] capturedCounters(String tableName) {
+        Counter[] counters = new Counter[ACTIONS.length];
+        for (AuditAction action : ACTIONS) {
+            counters[action.ordinal()] = Counter.builder("mtm.audit.events.captured")
+                    .description("Many-to-Many audit events captured from Envers audit records")
+                    .tag("table", tableName)
+                    .tag("action", action.name())
+                    .register(registry);
+        }
+        return counters;
+    }
+
+    private Counter failureCounter(String tableName) {
+        return Counter.builder("mtm.audit.persist.failures")
+                .description("Many-to-Many audit records that could not be written")
+                .tag("table", tableName)
+                .tag("mode", writeMode)
+                .register(registry);
+    }
+
+    private Timer lagTimer(String tableName) {
+        return Timer.builder("mtm.audit.commit.lag")
+                .description("Time from the Envers revision to the Many-to-Many audit record commit")
+                .tag("table", tableName)
+                .tag("mode", writeMode)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
\ No newline at end of file
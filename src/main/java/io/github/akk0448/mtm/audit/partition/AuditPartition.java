@@ -0,0 +1,15 @@
+package io.github.akk0448.mtm.audit.partition;
+
+import java.time.LocalDate;
+
+/**
+ * Range partition of an audit table on {@code created_on}.
+ *
+ * @param name the partition name
+ * @param lowerBound first day covered by the partition, inclusive
+ * @param upperBound first day after the partition, exclusive
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public record AuditPartition(String name, LocalDate lowerBound, LocalDate upperBound) {
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package io.github.akk0448.mtm.audit.partition;
+
+import io.github.akk0448.mtm.audit.ddl.DdlGenerationStrategy;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@code created_on} partitions of audit tables rolling.
+ * On startup and then periodically, creates the partitions required ahead of the current
+ * date and drops partitions older than the retention period. Both are partition metadata
+ * operations, so their cost does not depend on the number of audit rows.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+public class AuditPartitionMaintainer implements SmartInitializingSingleton {
+
+    private final ManyToManyAuditScanner auditScanner;
+    private final DdlGenerationStrategy ddlStrategy;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditPartitionScheme partitionScheme;
+    private final Duration maintenanceInterval;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mtm-audit-partition-"));
+
+    public AuditPartitionMaintainer(ManyToManyAuditScanner auditScanner, DdlGenerationStrategy ddlStrategy,
+                                    JdbcTemplate jdbcTemplate, AuditPartitionScheme partitionScheme,
+                                    Duration maintenanceInterval) {
+        this.auditScanner = auditScanner;
+        this.ddlStrategy = ddlStrategy;
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionScheme = partitionScheme;
+        this.maintenanceInterval = maintenanceInterval;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler.scheduleWithFixedDelay(this::runMaintenance, 0, maintenanceInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates missing future partitions and drops expired ones on every partitioned audit table.
+     * Tables that are not partitioned are left untouched.
+     */
+    public void maintainPartitions() {
+        Collection<AuditManyToManyAssociationMetadata> associations =
+                auditScanner.getAuditAssociationMetadata().values();
+        String partitionsQuery = ddlStrategy.fetchAuditPartitionsQuery(associations.size());
+        if (associations.isEmpty() || partitionsQuery == null) {
+            return;
+        }
+
+        Map<String, List<AuditPartition>> partitionsByTable = getPartitions(partitionsQuery, associations);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        for (AuditManyToManyAssociationMetadata metadata : associations) {
+            List<AuditPartition> partitions = partitionsByTable.get(metadata.tableName().toLowerCase());
+            if (partitions == null || partitions.isEmpty()) {
+                log.debug("Audit table [{}] is not partitioned, skipping partition maintenance", metadata.tableName());
+                continue;
+            }
+            try {
+                maintainTable(metadata.tableName(), partitions, today);
+            } catch (Exception e) {
+                log.error("Failed to maintain partitions of audit table [{}]: {}", metadata.tableName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void maintainTable(String tableName, List<AuditPartition> partitions, LocalDate today) {
+        LocalDate lastUpperBound = partitions.stream()
+                .map(AuditPartition::upperBound)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+
+        List<AuditPartition> missing = partitionScheme.requiredPartitions(today).stream()
+                .filter(partition -> !partition.lowerBound().isBefore(lastUpperBound))
+                .toList();
+        if (!missing.isEmpty()) {
+            String addQuery = ddlStrategy.generateAddPartitionsQuery(tableName, missing);
+            log.info("\n{}", addQuery);
+            jdbcTemplate.execute(addQuery);
+        }
+
+        List<String> expired = partitions.stream()
+                .filter(partition -> partitionScheme.isExpired(partition, today))
+                .map(AuditPartition::name)
+                .toList();
+        if (!expired.isEmpty()) {
+            String dropQuery = ddlStrategy.generateDropPartitionsQuery(tableName, expired);
+            log.info("\n{}", dropQuery);
+            jdbcTemplate.execute(dropQuery);
+        }
+    }
+
+    /**
+     * Returns the scheme partitions of each audit table, keyed by lower-case table name.
+     * Partitions not named by the scheme, such as the catch-all partition, are left out.
+     */
+    private Map<String, List<AuditPartition>> getPartitions(String partitionsQuery,
+                                                            Collection<AuditManyToManyAssociationMetadata> associations) {
+        List<String> tableNames = associations.stream()
+                .map(metadata -> metadata.tableName().toLowerCase())
+                .toList();
+
+        Map<String, List<AuditPartition>> partitionsByTable = new HashMap<>();
+        jdbcTemplate.query(
+                partitionsQuery,
+                ps -> {
+                    for (int i = 0; i < tableNames.size(); i++) {
+                        ps.setString(i + 1, tableNames.get(i));
+                    }
+                },
+                rs -> {
+                    AuditPartition partition = partitionScheme.parse(rs.getString(2));
+                    if (partition != null) {
+                        partitionsByTable.computeIfAbsent(rs.getString(1).toLowerCase(), table -> new ArrayList<>())
+                                .add(partition);
+                    }
+                }
+        );
+        return partitionsByTable;
+    }
+
+    private void runMaintenance() {
+        try {
+            maintainPartitions();
+        } catch (Exception e) {
+            log.error("Audit partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
\ No newline at end of file
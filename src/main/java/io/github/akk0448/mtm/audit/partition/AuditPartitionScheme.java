@@ -0,0 +1,91 @@
+package io.github.akk0448.mtm.audit.partition;
+
+import io.github.akk0448.mtm.audit.enums.AuditPartitionInterval;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout of the {@code created_on} range partitions of audit tables.
+ * Partitions are named {@code p<yyyyMMdd>} after their lower bound, so the range of
+ * an existing partition is known from its name alone.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public class AuditPartitionScheme {
+
+    private static final String PREFIX = "p";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("uuuuMMdd")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private final AuditPartitionInterval interval;
+    private final int precreate;
+    private final Period retention;
+
+    /**
+     * @param interval time span of each partition
+     * @param precreate number of partitions kept ahead of the current one
+     * @param retention age after which a partition is dropped, or {@code null} to keep all
+     */
+    public AuditPartitionScheme(AuditPartitionInterval interval, int precreate, Period retention) {
+        this.interval = interval;
+        this.precreate = precreate;
+        this.retention = retention;
+    }
+
+    /**
+     * Returns the partition holding {@code today} followed by the pre-created future partitions.
+     */
+    public List<AuditPartition> requiredPartitions(LocalDate today) {
+        List<AuditPartition> partitions = new ArrayList<>(precreate + 1);
+        LocalDate lowerBound = truncate(today);
+        for (int i = 0; i <= precreate; i++) {
+            AuditPartition partition = partitionStarting(lowerBound);
+            partitions.add(partition);
+            lowerBound = partition.upperBound();
+        }
+        return partitions;
+    }
+
+    /**
+     * Returns whether every row of the partition is older than the retention period.
+     */
+    public boolean isExpired(AuditPartition partition, LocalDate today) {
+        return retention != null && !partition.upperBound().isAfter(today.minus(retention));
+    }
+
+    /**
+     * Parses a partition created by this scheme, or returns {@code null} for any other name.
+     */
+    public AuditPartition parse(String name) {
+        if (name == null || name.length() != PREFIX.length() + 8 || !name.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return null;
+        }
+        try {
+            return partitionStarting(LocalDate.parse(name.substring(PREFIX.length()), NAME_FORMAT));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private AuditPartition partitionStarting(LocalDate lowerBound) {
+        LocalDate upperBound = switch (interval) {
+            case DAY -> lowerBound.plusDays(1);
+            case MONTH -> lowerBound.plusMonths(1);
+        };
+        return new AuditPartition(PREFIX + NAME_FORMAT.format(lowerBound), lowerBound, upperBound);
+    }
+
+    private LocalDate truncate(LocalDate date) {
+        return switch (interval) {
+            case DAY -> date;
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+package io.github.akk0448.mtm.audit.processor;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedAssociation;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedColumn;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Generates the {@link AuditMetadataIndex} for entities annotated with
+ * {@code @AuditManyToManyAssociation}, resolving join columns the same way
+ * {@code ManyToManyAuditScanner} does at runtime. Field-level annotations select the
+ * audited associations and their captured actions as they do at runtime. Entities whose
+ * columns cannot be resolved are left out of the index and scanned reflectively.
+ *
+ * <p>Annotations are read by name, so JPA does not need to be on the processor path.</p>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@SupportedAnnotationTypes(AuditMetadataProcessor.AUDIT_ANNOTATION)
+public class AuditMetadataProcessor extends AbstractProcessor {
+
+    static final String AUDIT_ANNOTATION = "io.github.akk0448.mtm.audit.annotations.AuditManyToManyAssociation";
+
+    private static final String MANY_TO_MANY = "javax.persistence.ManyToMany";
+    private static final String JOIN_TABLE = "javax.persistence.JoinTable";
+    private static final String COLUMN = "javax.persistence.Column";
+    private static final String ID = "javax.persistence.Id";
+    private static final String EMBEDDED_ID = "javax.persistence.EmbeddedId";
+    private static final String ID_CLASS = "javax.persistence.IdClass";
+
+    private final Map<String, List<IndexedAssociation>> associations = new HashMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (TypeElement entity : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                try {
+                    associations.put(binaryName(entity), indexEntity(entity));
+                    originatingElements.add(entity);
+                } catch (IllegalStateException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Not indexing audit metadata, it will be scanned at runtime: " + e.getMessage(), entity);
+                }
+            }
+        }
+        return false;
+    }
+
+    private List<IndexedAssociation> indexEntity(TypeElement entity) {
+        List<IndexedAssociation> entityAssociations = new ArrayList<>();
+        AnnotationMirror entityAudit = findAnnotation(entity, AUDIT_ANNOTATION);
+        List<VariableElement> fields = ElementFilter.fieldsIn(entity.getEnclosedElements());
+        boolean fieldsSelected = fields.stream().anyMatch(field -> findAnnotation(field, AUDIT_ANNOTATION) != null);
+
+        for (VariableElement field : fields) {
+            AnnotationMirror joinTable = findAnnotation(field, JOIN_TABLE);
+            if (findAnnotation(field, MANY_TO_MANY) == null || joinTable == null) continue;
+
+            Set<AuditAction> actions = capturedActions(entityAudit, fieldsSelected, field);
+            if (actions.isEmpty()) continue;
+
+            TypeElement inverseEntity = getGenericType(field);
+            entityAssociations.add(new IndexedAssociation(
+                    field.getSimpleName().toString(),
+                    (String) getValue(joinTable, "name"),
+                    actions,
+                    indexColumns(getAnnotations(joinTable, "joinColumns"), entity,
+                            entity.getSimpleName().toString()),
+                    indexColumns(getAnnotations(joinTable, "inverseJoinColumns"), inverseEntity,
+                            field.getSimpleName().toString())));
+        }
+
+        return entityAssociations;
+    }
+
+    /**
+     * Returns the audit actions captured for an association field, empty if the
+     * association is not audited. Once any field of the entity carries the annotation,
+     * only annotated fields are audited.
+     */
+    private Set<AuditAction> capturedActions(AnnotationMirror entityAudit, boolean fieldsSelected, VariableElement field) {
+        AnnotationMirror fieldAudit = findAnnotation(field, AUDIT_ANNOTATION);
+        Set<AuditAction> actions = EnumSet.noneOf(AuditAction.class);
+        if (fieldAudit == null && fieldsSelected) return actions;
+
+        for (Object value : (List<?>) getValue(fieldAudit != null ? fieldAudit : entityAudit, "actions")) {
+            VariableElement constant = (VariableElement) ((AnnotationValue) value).getValue();
+            actions.add(AuditAction.valueOf(constant.getSimpleName().toString()));
+        }
+        return actions;
+    }
+
+    private IndexedColumn[] indexColumns(List<AnnotationMirror> joinColumns, TypeElement target, String auditPrefix) {
+        IndexedColumn[] columns = new IndexedColumn[joinColumns.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            AnnotationMirror joinColumn = joinColumns.get(i);
+            String referencedColumnName = (String) getValue(joinColumn, "referencedColumnName");
+            if (referencedColumnName.isBlank()) {
+                referencedColumnName = getPrimaryKeyColumnName(target);
+            }
+
+            VariableElement joinField = findFieldByReferencedColumnName(target, referencedColumnName);
+            if (joinField == null) {
+                throw new IllegalStateException("Could not resolve field for referencedColumnName="
+                        + referencedColumnName + " in class=" + target.getQualifiedName());
+            }
+
+            columns[i] = new IndexedColumn((String) getValue(joinColumn, "name"),
+                    auditPrefix + "_" + joinField.getSimpleName(), typeName(joinField.asType()));
+        }
+
+        return columns;
+    }
+
+    private String getPrimaryKeyColumnName(TypeElement type) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (findAnnotation(field, ID) != null) {
+                AnnotationMirror column = findAnnotation(field, COLUMN);
+                String name = column == null ? "" : (String) getValue(column, "name");
+                return name.isBlank() ? field.getSimpleName().toString() : name;
+            }
+            if (findAnnotation(field, EMBEDDED_ID) != null) {
+                return field.getSimpleName().toString();
+            }
+        }
+        throw new IllegalStateException("No @Id field found in " + type.getQualifiedName());
+    }
+
+    private VariableElement findFieldByReferencedColumnName(TypeElement type, String referencedColumnName) {
+        List<VariableElement> fields = ElementFilter.fieldsIn(type.getEnclosedElements());
+
+        for (VariableElement field : fields) {
+            if (matchesField(field, referencedColumnName)) return field;
+        }
+
+        for (VariableElement field : fields) {
+            if (findAnnotation(field, EMBEDDED_ID) != null) {
+                VariableElement match = findMatchingField(field.asType(), referencedColumnName);
+                if (match != null) return match;
+            }
+        }
+
+        AnnotationMirror idClass = findAnnotation(type, ID_CLASS);
+        return idClass == null ? null : findMatchingField((TypeMirror) getValue(idClass, "value"), referencedColumnName);
+    }
+
+    private VariableElement findMatchingField(TypeMirror type, String referencedColumnName) {
+        if (type.getKind() != TypeKind.DECLARED) return null;
+
+        Element element = ((DeclaredType) type).asElement();
+        for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+            if (matchesField(field, referencedColumnName)) return field;
+        }
+        return null;
+    }
+
+    private boolean matchesField(VariableElement field, String referencedColumnName) {
+        AnnotationMirror column = findAnnotation(field, COLUMN);
+        if (column != null && referencedColumnName.equalsIgnoreCase((String) getValue(column, "name"))) {
+            return true;
+        }
+        return referencedColumnName.equalsIgnoreCase(field.getSimpleName().toString());
+    }
+
+    private TypeElement getGenericType(VariableElement field) {
+        if (field.asType() instanceof DeclaredType declaredType && declaredType.getTypeArguments().size() == 1
+                && declaredType.getTypeArguments().get(0) instanceof DeclaredType argument) {
+            return (TypeElement) argument.asElement();
+        }
+        throw new IllegalStateException("Unable to resolve generic type for field: " + field.getSimpleName());
+    }
+
+    private String typeName(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind().isPrimitive()) {
+            return erasure.toString();
+        }
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return binaryName((TypeElement) ((DeclaredType) erasure).asElement());
+        }
+        throw new IllegalStateException("Unsupported join column type: " + type);
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeIndex() {
+        if (associations.isEmpty()) return;
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    AuditMetadataIndex.LOCATION, originatingElements.toArray(new Element[0]));
+            try (Writer out = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                AuditMetadataIndex.write(associations, out);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write audit metadata index: " + e.getMessage());
+        }
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror annotation, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException("Missing attribute " + attribute + " on " + annotation);
+    }
+
+    private List<AnnotationMirror> getAnnotations(AnnotationMirror annotation, String attribute) {
+        List<AnnotationMirror> mirrors = new ArrayList<>();
+        for (Object value : (List<?>) getValue(annotation, attribute)) {
+            mirrors.add((AnnotationMirror) ((AnnotationValue) value).getValue());
+        }
+        return mirrors;
+    }
+}
\ No newline at end of file
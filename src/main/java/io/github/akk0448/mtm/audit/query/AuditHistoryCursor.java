@@ -0,0 +1,15 @@
+package io.github.akk0448.mtm.audit.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position in the audit history of an association key.
+ * The next page starts with the first row ordered after {@code (createdOn, id)}.
+ *
+ * @param createdOn creation time of the last row read
+ * @param id audit row id of the last row read
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public record AuditHistoryCursor(LocalDateTime createdOn, long id) {
+}
\ No newline at end of file
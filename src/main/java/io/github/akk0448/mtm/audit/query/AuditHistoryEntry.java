@@ -0,0 +1,21 @@
+package io.github.akk0448.mtm.audit.query;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditEvent;
+
+/**
+ * Row of the audit history of a Many-to-Many association.
+ *
+ * @param id audit row id
+ * @param event audited association change
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public record AuditHistoryEntry(long id, ManyToManyAuditEvent event) {
+
+    /**
+     * Returns the keyset position of this row.
+     */
+    public AuditHistoryCursor cursor() {
+        return new AuditHistoryCursor(event.createdOn(), id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package io.github.akk0448.mtm.audit.query;
+
+import java.util.List;
+
+/**
+ * Page of audit history ordered by creation time and id.
+ *
+ * @param entries rows of this page
+ * @param next cursor of the following page, or {@code null} on the last page
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public record AuditHistoryPage(List<AuditHistoryEntry> entries, AuditHistoryCursor next) {
+
+    /**
+     * Returns whether another page follows this one.
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
\ No newline at end of file
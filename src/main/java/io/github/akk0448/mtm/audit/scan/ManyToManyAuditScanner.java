@@ -1,22 +1,30 @@
 package io.github.akk0448.mtm.audit.scan;
 
 import io.github.akk0448.mtm.audit.annotations.AuditManyToManyAssociation;
+import io.github.akk0448.mtm.audit.enums.AuditAction;
 import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedAssociation;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedColumn;
 import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.ClassUtils;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.*;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.Metamodel;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Scans entities for Many-to-Many associations requiring audit tracking.
@@ -32,6 +40,9 @@ public class ManyToManyAuditScanner {
     @Getter
     private Map<String, AuditManyToManyAssociationMetadata> auditAssociationMetadata = new HashMap<>();
 
+    @Getter
+    private Map<String, AuditManyToManyAssociationMetadata> auditTableMetadata = new HashMap<>();
+
     @Value("${spring.jpa.properties.org.hibernate.envers.audit_table_suffix:_aud}")
     private String audSuffix;
 
@@ -40,32 +51,57 @@ public class ManyToManyAuditScanner {
 
     /**
      * Scans JPA entities for Many-to-Many associations with audit annotation.
+     * Entities covered by the build-time {@link AuditMetadataIndex} are registered from
+     * the index without reflection, the others are scanned reflectively. Associations
+     * excluded by the annotation are not registered.
      */
     @PostConstruct
     public void scanEntities() {
         Map<String, AuditManyToManyAssociationMetadata> tempMap = new HashMap<>();
 
         Metamodel metamodel = entityManagerFactory.getMetamodel();
+        AuditMetadataIndex index = loadIndex();
 
         for (EntityType<?> entity : metamodel.getEntities()) {
             Class<?> clazz = entity.getJavaType();
 
-            if (!clazz.isAnnotationPresent(AuditManyToManyAssociation.class)) continue;
+            List<IndexedAssociation> indexedAssociations = index.getAssociations(clazz.getName());
+            if (indexedAssociations != null) {
+                try {
+                    Map<String, AuditManyToManyAssociationMetadata> entityMetadata = new HashMap<>();
+                    for (IndexedAssociation association : indexedAssociations) {
+                        register(entityMetadata, clazz, association.tableName(), association.actions(),
+                                createAuditJoinColumn(association.joinColumns(), clazz),
+                                createAuditJoinColumn(association.inverseJoinColumns(), clazz));
+                    }
+                    tempMap.putAll(entityMetadata);
+                    continue;
+                } catch (ClassNotFoundException e) {
+                    log.warn("Stale audit metadata index entry for [{}], scanning it instead: {}",
+                            clazz.getSimpleName(), e.getMessage());
+                }
+            }
+
+            AuditManyToManyAssociation entityAudit = clazz.getAnnotation(AuditManyToManyAssociation.class);
+            if (entityAudit == null) continue;
+            boolean fieldsSelected = Arrays.stream(clazz.getDeclaredFields())
+                    .anyMatch(field -> field.isAnnotationPresent(AuditManyToManyAssociation.class));
 
             for (Field field : clazz.getDeclaredFields()) {
                 if (field.isAnnotationPresent(ManyToMany.class) && field.isAnnotationPresent(JoinTable.class)) {
+                    Set<AuditAction> actions = capturedActions(entityAudit, fieldsSelected, field);
+                    if (actions == null) continue;
+
                     try {
                         JoinTable joinTable = field.getAnnotation(JoinTable.class);
                         JoinColumn[] joinColAnns = joinTable.joinColumns();
                         JoinColumn[] inverseColAnns = joinTable.inverseJoinColumns();
 
-                        String tableName = joinTable.name();
                         Class<?> inverseEntityClass = getGenericType(field);
 
-                        AuditManyToManyAssociationMetadata metadata = new AuditManyToManyAssociationMetadata(tableName + CUSTOM_AUDIT_SUFFIX, createAuditJoinColumn(joinColAnns, clazz), createAuditInverseJoinColumn(inverseColAnns, inverseEntityClass, field));
-
-                        tempMap.put(tableName + audSuffix, metadata);
-                        log.debug("Registered metadata for [{}]: {}", clazz.getSimpleName(), metadata);
+                        register(tempMap, clazz, joinTable.name(), actions,
+                                createAuditJoinColumn(joinColAnns, clazz),
+                                createAuditInverseJoinColumn(inverseColAnns, inverseEntityClass, field));
 
                     } catch (Exception e) {
                         log.warn("Failed to process field [{}] in [{}]: {}", field.getName(), clazz.getSimpleName(), e.getMessage(), e);
@@ -74,7 +110,63 @@ public class ManyToManyAuditScanner {
             }
         }
 
+        Map<String, AuditManyToManyAssociationMetadata> tableMap = new HashMap<>();
+        tempMap.values().forEach(metadata -> tableMap.put(metadata.tableName(), metadata));
+
         this.auditAssociationMetadata = Collections.unmodifiableMap(tempMap);
+        this.auditTableMetadata = Collections.unmodifiableMap(tableMap);
+    }
+
+    /**
+     * Returns the audit actions captured for an association field, or {@code null} if the
+     * association is not audited. Once any field of the entity carries the annotation,
+     * only annotated fields are audited.
+     */
+    private Set<AuditAction> capturedActions(AuditManyToManyAssociation entityAudit, boolean fieldsSelected, Field field) {
+        AuditManyToManyAssociation fieldAudit = field.getAnnotation(AuditManyToManyAssociation.class);
+        if (fieldAudit == null && fieldsSelected) return null;
+
+        AuditAction[] actions = (fieldAudit != null ? fieldAudit : entityAudit).actions();
+        return actions.length == 0 ? null : EnumSet.copyOf(Arrays.asList(actions));
+    }
+
+    private void register(Map<String, AuditManyToManyAssociationMetadata> tempMap, Class<?> clazz, String tableName,
+                          Set<AuditAction> actions, AuditJoinColumn[] joinColumns, AuditJoinColumn[] inverseJoinColumns) {
+        String audEntityName = tableName + audSuffix;
+        Set<String> enversPropertyNames = getEnversIdPropertyNames(audEntityName);
+
+        AuditManyToManyAssociationMetadata metadata = new AuditManyToManyAssociationMetadata(tableName + CUSTOM_AUDIT_SUFFIX,
+                resolveEnversPropertyNames(joinColumns, enversPropertyNames),
+                resolveEnversPropertyNames(inverseJoinColumns, enversPropertyNames), actions);
+
+        tempMap.put(audEntityName, metadata);
+        log.debug("Registered metadata for [{}]: {}", clazz.getSimpleName(), metadata);
+    }
+
+    private AuditMetadataIndex loadIndex() {
+        try {
+            AuditMetadataIndex index = AuditMetadataIndex.load(ClassUtils.getDefaultClassLoader());
+            if (!index.isEmpty()) {
+                log.debug("Loaded audit metadata index from [{}]", AuditMetadataIndex.LOCATION);
+            }
+            return index;
+        } catch (IOException e) {
+            log.warn("Failed to load audit metadata index, scanning entities instead: {}", e.getMessage());
+            return AuditMetadataIndex.empty();
+        }
+    }
+
+    private AuditJoinColumn[] createAuditJoinColumn(IndexedColumn[] indexedColumns, Class<?> clazz)
+            throws ClassNotFoundException {
+        AuditJoinColumn[] auditJoinColumns = new AuditJoinColumn[indexedColumns.length];
+
+        for (int i = 0; i < indexedColumns.length; i++) {
+            IndexedColumn column = indexedColumns[i];
+            auditJoinColumns[i] = new AuditJoinColumn(column.columnName(), column.auditColumnName(),
+                    ClassUtils.forName(column.typeName(), clazz.getClassLoader()));
+        }
+
+        return auditJoinColumns;
     }
 
     private AuditJoinColumn[] createAuditJoinColumn(JoinColumn[] joinColAnns, Class<?> clazz) {
@@ -129,6 +221,50 @@ public class ManyToManyAuditScanner {
         return auditInverseJoinColumns;
     }
 
+    /**
+     * Returns the property names of the Envers identifier ({@code originalId}) of a join table audit entity.
+     */
+    private Set<String> getEnversIdPropertyNames(String audEntityName) {
+        try {
+            EntityPersister persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getMetamodel()
+                    .entityPersister(audEntityName);
+            Type idType = persister.getIdentifierType();
+            if (idType instanceof CompositeType compositeType) {
+                return new LinkedHashSet<>(Arrays.asList(compositeType.getPropertyNames()));
+            }
+        } catch (Exception e) {
+            log.debug("Unable to resolve Envers properties of [{}]: {}", audEntityName, e.getMessage());
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Replaces the audit column names with the exact Envers property names they match,
+     * so audit values can be read without case-insensitive lookups.
+     */
+    private AuditJoinColumn[] resolveEnversPropertyNames(AuditJoinColumn[] columns, Set<String> enversPropertyNames) {
+        AuditJoinColumn[] resolved = new AuditJoinColumn[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            AuditJoinColumn column = columns[i];
+            String propertyName = enversPropertyNames.stream()
+                    .filter(name -> name.equalsIgnoreCase(column.auditColumnName()))
+                    .findFirst()
+                    .orElse(null);
+
+            if (propertyName == null) {
+                log.warn("No Envers property matches audit column [{}], falling back to case-insensitive lookup",
+                        column.auditColumnName());
+                resolved[i] = column;
+            } else {
+                resolved[i] = new AuditJoinColumn(column.columnName(), propertyName, column.columnClassType());
+            }
+        }
+
+        return resolved;
+    }
+
     private String getPrimaryKeyColumnName(Class<?> clazz) {
         for (Field f : clazz.getDeclaredFields()) {
             if (f.isAnnotationPresent(Id.class)) {
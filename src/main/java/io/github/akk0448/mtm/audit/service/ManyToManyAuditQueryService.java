@@ -0,0 +1,226 @@
+package io.github.akk0448.mtm.audit.service;
+
+import io.github.akk0448.mtm.audit.ddl.DdlGenerationStrategy;
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.enums.AuditAssociationSide;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditEvent;
+import io.github.akk0448.mtm.audit.events.ManyToManyJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.query.AuditHistoryCursor;
+import io.github.akk0448.mtm.audit.query.AuditHistoryEntry;
+import io.github.akk0448.mtm.audit.query.AuditHistoryPage;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Reads the change history of Many-to-Many associations from their audit tables.
+ * History is ordered by {@code (created_on, id)} and paged by keyset, with the page size
+ * limited in the query itself, so reading a page costs the same however deep it lies in
+ * the history. Rows without {@code created_on} are not returned.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@RequiredArgsConstructor
+public class ManyToManyAuditQueryService {
+
+    private final ManyToManyAuditScanner auditScanner;
+    private final DdlGenerationStrategy ddlStrategy;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> historyQueries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns one page of the history of an association key.
+     *
+     * @param tableName the audit table name
+     * @param side the association side the key belongs to
+     * @param keyValues key column values, in the order of that side's join columns
+     * @param after cursor of the previous page, or {@code null} for the first page
+     * @param pageSize maximum number of rows in the page
+     * @return the page, with the cursor of the following page if there is one
+     */
+    public AuditHistoryPage findHistory(String tableName, AuditAssociationSide side, Object[] keyValues,
+                                        AuditHistoryCursor after, int pageSize) {
+        return findHistory(getMetadata(tableName), side, keyValues, after, pageSize);
+    }
+
+    /**
+     * Returns one page of the history of an association key.
+     *
+     * @param metadata the audited association
+     * @param side the association side the key belongs to
+     * @param keyValues key column values, in the order of that side's join columns
+     * @param after cursor of the previous page, or {@code null} for the first page
+     * @param pageSize maximum number of rows in the page
+     * @return the page, with the cursor of the following page if there is one
+     */
+    public AuditHistoryPage findHistory(AuditManyToManyAssociationMetadata metadata, AuditAssociationSide side,
+                                        Object[] keyValues, AuditHistoryCursor after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        String sql = historyQuery(metadata, side, keyValues, after != null, true);
+
+        List<AuditHistoryEntry> entries = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int index = bind(statement, keyValues, after);
+            statement.setInt(index, pageSize + 1);
+            return statement;
+        }, historyRowMapper(metadata));
+
+        if (entries.size() <= pageSize) {
+            return new AuditHistoryPage(entries, null);
+        }
+        List<AuditHistoryEntry> page = entries.subList(0, pageSize);
+        return new AuditHistoryPage(page, page.get(pageSize - 1).cursor());
+    }
+
+    /**
+     * Streams the history of an association key from a forward-only cursor.
+     * Rows are fetched from the database {@code fetchSize} at a time, so memory use does
+     * not depend on the length of the history. The stream holds a connection and must be
+     * closed; on databases that only stream inside a transaction, call it within one.
+     *
+     * @param tableName the audit table name
+     * @param side the association side the key belongs to
+     * @param keyValues key column values, in the order of that side's join columns
+     * @param after cursor to resume after, or {@code null} to start from the beginning
+     * @param fetchSize number of rows fetched per database round trip
+     * @return the history rows, ordered by creation time and id
+     */
+    public Stream<AuditHistoryEntry> streamHistory(String tableName, AuditAssociationSide side, Object[] keyValues,
+                                                   AuditHistoryCursor after, int fetchSize) {
+        return streamHistory(getMetadata(tableName), side, keyValues, after, fetchSize);
+    }
+
+    /**
+     * Streams the history of an association key from a forward-only cursor.
+     *
+     * @param metadata the audited association
+     * @param side the association side the key belongs to
+     * @param keyValues key column values, in the order of that side's join columns
+     * @param after cursor to resume after, or {@code null} to start from the beginning
+     * @param fetchSize number of rows fetched per database round trip
+     * @return the history rows, ordered by creation time and id
+     * @see #streamHistory(String, AuditAssociationSide, Object[], AuditHistoryCursor, int)
+     */
+    public Stream<AuditHistoryEntry> streamHistory(AuditManyToManyAssociationMetadata metadata, AuditAssociationSide side,
+                                                   Object[] keyValues, AuditHistoryCursor after, int fetchSize) {
+        String sql = historyQuery(metadata, side, keyValues, after != null, false);
+
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(ddlStrategy.streamingFetchSize(fetchSize));
+            bind(statement, keyValues, after);
+            return statement;
+        }, historyRowMapper(metadata));
+    }
+
+    private AuditManyToManyAssociationMetadata getMetadata(String tableName) {
+        AuditManyToManyAssociationMetadata metadata = auditScanner.getAuditTableMetadata().get(tableName);
+        if (metadata == null) {
+            throw new IllegalArgumentException("Unknown audit table [" + tableName + "]");
+        }
+        return metadata;
+    }
+
+    private String historyQuery(AuditManyToManyAssociationMetadata metadata, AuditAssociationSide side,
+                                Object[] keyValues, boolean resume, boolean limited) {
+        AuditJoinColumn[] keyColumns = side == AuditAssociationSide.OWNING
+                ? metadata.joinColumns()
+                : metadata.inverseJoinColumns();
+        if (keyValues.length != keyColumns.length) {
+            throw new IllegalArgumentException("Expected " + keyColumns.length + " key values for "
+                    + side + " side of [" + metadata.tableName() + "], got " + keyValues.length);
+        }
+
+        String cacheKey = metadata.tableName() + '/' + side + (resume ? "/resume" : "") + (limited ? "/limit" : "");
+        return historyQueries.computeIfAbsent(cacheKey, key -> buildHistoryQuery(metadata, keyColumns, resume, limited));
+    }
+
+    private String buildHistoryQuery(AuditManyToManyAssociationMetadata metadata, AuditJoinColumn[] keyColumns,
+                                     boolean resume, boolean limited) {
+        StringBuilder sql = new StringBuilder("SELECT id");
+        for (AuditJoinColumn col : metadata.joinColumns()) {
+            sql.append(", ").append(col.columnName());
+        }
+        for (AuditJoinColumn col : metadata.inverseJoinColumns()) {
+            sql.append(", ").append(col.columnName());
+        }
+        sql.append(", action, created_by, created_on FROM ").append(metadata.tableName()).append(" WHERE ");
+
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (i > 0) sql.append(" AND ");
+            sql.append(keyColumns[i].columnName()).append(" = ?");
+        }
+        if (resume) {
+            sql.append(" AND (created_on > ? OR (created_on = ? AND id > ?))");
+        } else {
+            sql.append(" AND created_on IS NOT NULL");
+        }
+
+        sql.append(" ORDER BY created_on, id");
+        if (limited) {
+            sql.append(' ').append(ddlStrategy.generateRowLimitClause());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Binds the key values and the cursor, returning the index of the next parameter.
+     */
+    private static int bind(PreparedStatement statement, Object[] keyValues, AuditHistoryCursor after) throws SQLException {
+        int index = 1;
+        for (Object keyValue : keyValues) {
+            statement.setObject(index++, keyValue);
+        }
+        if (after != null) {
+            statement.setObject(index++, after.createdOn());
+            statement.setObject(index++, after.createdOn());
+            statement.setLong(index++, after.id());
+        }
+        return index;
+    }
+
+    private static RowMapper<AuditHistoryEntry> historyRowMapper(AuditManyToManyAssociationMetadata metadata) {
+        AuditJoinColumn[] joinColumns = metadata.joinColumns();
+        AuditJoinColumn[] inverseJoinColumns = metadata.inverseJoinColumns();
+        int auditColumn = 2 + joinColumns.length + inverseJoinColumns.length;
+
+        return (rs, rowNum) -> {
+            String createdBy = rs.getString(auditColumn + 1);
+            LocalDateTime createdOn = rs.getObject(auditColumn + 2, LocalDateTime.class);
+
+            ManyToManyAuditEvent event = new ManyToManyAuditEvent(
+                    columns(rs, joinColumns, 2),
+                    columns(rs, inverseJoinColumns, 2 + joinColumns.length),
+                    AuditAction.valueOf(rs.getString(auditColumn)), metadata.tableName(),
+                    createdOn, createdBy, createdOn, createdBy
+            );
+            return new AuditHistoryEntry(rs.getLong(1), event);
+        };
+    }
+
+    private static ManyToManyJoinColumn[] columns(ResultSet rs, AuditJoinColumn[] columns, int offset) throws SQLException {
+        ManyToManyJoinColumn[] joinColumns = new ManyToManyJoinColumn[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            joinColumns[i] = new ManyToManyJoinColumn(columns[i].columnName(),
+                    JdbcUtils.getResultSetValue(rs, offset + i, columns[i].columnClassType()));
+        }
+        return joinColumns;
+    }
+}
\ No newline at end of file
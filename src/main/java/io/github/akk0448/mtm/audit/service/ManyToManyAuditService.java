@@ -1,77 +1,266 @@
 package io.github.akk0448.mtm.audit.service;
 
-import io.github.akk0448.mtm.audit.events.ManyToManyAuditEvent;
-import io.github.akk0448.mtm.audit.events.ManyToManyJoinColumn;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
-
-import javax.persistence.EntityManager;
-import javax.persistence.PersistenceContext;
-import javax.persistence.Query;
-import java.util.HashMap;
+import io.github.akk0448.mtm.audit.ddl.DdlGenerationStrategy;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditInsertPlan;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.writer.AuditBulkWriter;
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Expectations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service responsible for persisting audit records for Many-to-Many association changes.
  * Operates within isolated transactions to ensure audit data integrity regardless of
  * the outcome of main business transactions.
  *
+ * <p>Records are written with plain JDBC, without a persistence context, on the connection
+ * of a new transaction started through the application's transaction manager. The INSERT
+ * SQL of each audit table is built once at startup; the statement is prepared once per
+ * table and write and its rows are sent as JDBC batches. Reusing prepared statements across
+ * writes is left to the JDBC driver or connection pool statement cache. Same-transaction
+ * writes go through the session's JDBC coordinator instead.</p>
+ *
  * @author Aniket Kumar
  * @since 1.0.0
  */
 public class ManyToManyAuditService {
 
-    @PersistenceContext
-    private EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DdlGenerationStrategy ddlStrategy;
+    private final int batchSize;
+    private final boolean multiRowInsert;
+    private final AuditBulkWriter bulkWriter;
+    private final int bulkThreshold;
+    private final Map<String, String[]> multiRowInsertQueries = new ConcurrentHashMap<>();
+
+    public ManyToManyAuditService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  DdlGenerationStrategy ddlStrategy, int batchSize, boolean multiRowInsert) {
+        this(jdbcTemplate, transactionManager, ddlStrategy, batchSize, multiRowInsert, null, Integer.MAX_VALUE);
+    }
 
     /**
-     * Persists an audit event to the corresponding audit table.
+     * @param transactionManager the application's transaction manager, used to start the audit transactions
+     * @param bulkWriter bulk load path for large batches, or {@code null} to always use INSERT
+     * @param bulkThreshold minimum number of records of one table written through the bulk writer
+     */
+    public ManyToManyAuditService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  DdlGenerationStrategy ddlStrategy, int batchSize, boolean multiRowInsert,
+                                  AuditBulkWriter bulkWriter, int bulkThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ddlStrategy = ddlStrategy;
+        this.batchSize = batchSize;
+        this.multiRowInsert = multiRowInsert;
+        this.bulkWriter = bulkWriter;
+        this.bulkThreshold = bulkThreshold;
+    }
+
+    /**
+     * Persists an audit record to the corresponding audit table.
      * Executes in a new transaction context to maintain data consistency.
      *
-     * @param event the audit event to persist
+     * @param record the audit record to persist
      * @throws RuntimeException if persistence fails
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void persistAuditEntity(ManyToManyAuditEvent event) {
+    public void persistAuditEntity(ManyToManyAuditRecord record) {
         try {
-            HashMap<String, Object> columnValueMap = new LinkedHashMap<>();
+            inNewTransaction(connection -> {
+                writeBatch(connection, record.metadata(), List.of(record));
+                return null;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Error persisting audit entity", e);
+        }
+    }
+
+    /**
+     * Persists audit records through the given session, as part of its current transaction.
+     * Uses the session's connection and Hibernate's JDBC batching, so the audit records
+     * commit or roll back together with the business data.
+     *
+     * @param session the session whose transaction the audit records join
+     * @param records the audit records to persist
+     * @throws RuntimeException if persistence fails
+     */
+    public void persistAuditEntities(SessionImplementor session, Collection<ManyToManyAuditRecord> records) {
+        if (records.isEmpty()) return;
+
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        try {
+            for (Map.Entry<AuditManyToManyAssociationMetadata, List<ManyToManyAuditRecord>> entry : groupByTable(records).entrySet()) {
+                AuditInsertPlan plan = entry.getKey().insertPlan();
+                Batch batch = jdbcCoordinator.getBatch(new BasicBatchKey(plan.sql(), Expectations.NONE));
+
+                for (ManyToManyAuditRecord record : entry.getValue()) {
+                    bind(batch.getBatchStatement(plan.sql(), false), 0, plan.bindOrder(), record);
+                    batch.addToBatch();
+                }
+            }
+            jdbcCoordinator.executeBatch();
+        } catch (Exception e) {
+            jdbcCoordinator.abortBatch();
+            throw new RuntimeException("Error persisting audit entities", e);
+        }
+    }
+
+    /**
+     * Persists audit records in a single new transaction.
+     * Records are grouped per audit table and sent as JDBC batches, or as multi-row
+     * INSERT statements when enabled. Tables with at least {@code bulkThreshold} records
+     * go through the bulk writer when it supports the connection.
+     *
+     * @param records the audit records to persist
+     * @throws RuntimeException if persistence fails
+     */
+    public void persistAuditEntities(Collection<ManyToManyAuditRecord> records) {
+        if (records.isEmpty()) return;
+
+        Map<AuditManyToManyAssociationMetadata, List<ManyToManyAuditRecord>> recordsByTable = groupByTable(records);
+
+        try {
+            inNewTransaction(connection -> {
+                for (Map.Entry<AuditManyToManyAssociationMetadata, List<ManyToManyAuditRecord>> entry : recordsByTable.entrySet()) {
+                    writeBatch(connection, entry.getKey(), entry.getValue());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Error persisting audit entities", e);
+        }
+    }
+
+    /**
+     * Runs the callback on the connection of a new transaction, suspending any
+     * transaction bound to the calling thread.
+     */
+    private void inNewTransaction(ConnectionCallback<?> callback) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(callback));
+    }
+
+    private Map<AuditManyToManyAssociationMetadata, List<ManyToManyAuditRecord>> groupByTable(Collection<ManyToManyAuditRecord> records) {
+        Map<AuditManyToManyAssociationMetadata, List<ManyToManyAuditRecord>> recordsByTable = new LinkedHashMap<>();
+        for (ManyToManyAuditRecord record : records) {
+            recordsByTable.computeIfAbsent(record.metadata(), metadata -> new ArrayList<>()).add(record);
+        }
+        return recordsByTable;
+    }
 
-            for (ManyToManyJoinColumn col : event.joinColumns()) {
-                columnValueMap.put(col.columnName(), col.columnValue());
+    private void writeBatch(Connection connection, AuditManyToManyAssociationMetadata metadata,
+                            List<ManyToManyAuditRecord> records) throws SQLException {
+        if (bulkWriter != null && records.size() >= bulkThreshold && bulkWriter.write(connection, metadata, records)) {
+            return;
+        }
+        if (multiRowInsert && records.size() > 1) {
+            writeMultiRow(connection, metadata, records);
+            return;
+        }
+
+        AuditInsertPlan plan = metadata.insertPlan();
+        try (PreparedStatement statement = connection.prepareStatement(plan.sql())) {
+            if (records.size() == 1) {
+                bind(statement, 0, plan.bindOrder(), records.get(0));
+                statement.executeUpdate();
+                return;
             }
 
-            for (ManyToManyJoinColumn col : event.inverseJoinColumns()) {
-                columnValueMap.put(col.columnName(), col.columnValue());
+            int pending = 0;
+            for (ManyToManyAuditRecord record : records) {
+                bind(statement, 0, plan.bindOrder(), record);
+                statement.addBatch();
+
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
             }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
 
-            columnValueMap.put("action", event.action().name());
-            columnValueMap.put("created_by", event.createdBy());
-            columnValueMap.put("created_on", event.createdOn());
-            columnValueMap.put("updated_by", event.updatedBy());
-            columnValueMap.put("updated_on", event.updatedOn());
-
-            String columnsPart = String.join(", ", columnValueMap.keySet());
-            String placeholders = columnValueMap.keySet().stream()
-                    .map(k -> "?")
-                    .collect(Collectors.joining(", "));
-
-            String insertQuery = String.format(
-                    "INSERT INTO %s (%s) VALUES (%s)",
-                    event.tableName(),
-                    columnsPart,
-                    placeholders
-            );
-
-            Query query = entityManager.createNativeQuery(insertQuery);
-            int index = 1;
-            for (Object value : columnValueMap.values()) {
-                query.setParameter(index++, value);
+    /**
+     * Writes records as multi-row INSERT statements of up to {@code batchSize} rows each,
+     * keeping every statement within the dialect's bind parameter limit.
+     */
+    private void writeMultiRow(Connection connection, AuditManyToManyAssociationMetadata metadata,
+                               List<ManyToManyAuditRecord> records) throws SQLException {
+        int[] bindOrder = metadata.insertPlan().bindOrder();
+        int rowsPerStatement = Math.max(1, Math.min(batchSize, ddlStrategy.maxBindParameters() / bindOrder.length));
+        int fullStatements = records.size() / rowsPerStatement;
+        int remainder = records.size() % rowsPerStatement;
+
+        if (fullStatements > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    multiRowInsertQuery(metadata, rowsPerStatement, rowsPerStatement))) {
+                for (int i = 0; i < fullStatements; i++) {
+                    bindRows(statement, bindOrder, records, i * rowsPerStatement, rowsPerStatement);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
             }
+        }
 
-            query.executeUpdate();
-        } catch (Exception e) {
-            throw new RuntimeException("Error persisting audit entity", e);
+        if (remainder > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    multiRowInsertQuery(metadata, remainder, rowsPerStatement))) {
+                bindRows(statement, bindOrder, records, fullStatements * rowsPerStatement, remainder);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private String multiRowInsertQuery(AuditManyToManyAssociationMetadata metadata, int rowCount, int rowsPerStatement) {
+        String[] queries = multiRowInsertQueries.computeIfAbsent(metadata.tableName(), table -> new String[rowsPerStatement + 1]);
+        String query = queries[rowCount];
+        if (query == null) {
+            query = ddlStrategy.generateMultiRowInsertQuery(metadata, rowCount);
+            queries[rowCount] = query;
+        }
+        return query;
+    }
+
+    private void bindRows(PreparedStatement statement, int[] bindOrder, List<ManyToManyAuditRecord> records,
+                          int from, int rowCount) throws SQLException {
+        for (int row = 0; row < rowCount; row++) {
+            bind(statement, row * bindOrder.length, bindOrder, records.get(from + row));
+        }
+    }
+
+    private void bind(PreparedStatement statement, int offset, int[] bindOrder, ManyToManyAuditRecord record) throws SQLException {
+        Object[] keyValues = record.keyValues();
+        LocalDateTime auditTime = record.auditTime();
+
+        for (int i = 0; i < bindOrder.length; i++) {
+            int slot = bindOrder[i];
+            Object value = switch (slot) {
+                case AuditInsertPlan.ACTION -> record.action().name();
+                case AuditInsertPlan.CREATED_BY, AuditInsertPlan.UPDATED_BY -> record.auditor();
+                case AuditInsertPlan.CREATED_ON, AuditInsertPlan.UPDATED_ON -> auditTime;
+                default -> keyValues[slot];
+            };
+            statement.setObject(offset + i + 1, value);
         }
     }
 }
\ No newline at end of file
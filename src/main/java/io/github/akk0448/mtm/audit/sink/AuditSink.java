@@ -0,0 +1,53 @@
+package io.github.akk0448.mtm.audit.sink;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.util.List;
+
+/**
+ * Destination of committed Many-to-Many audit records. Sinks are Spring beans,
+ * selected per audit table by name through {@code mtm.audit.sinks}.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public interface AuditSink {
+
+    /**
+     * Returns the name the sink is referenced by in the configuration.
+     */
+    String name();
+
+    /**
+     * Writes audit records, which may belong to several audit tables, in the given order.
+     * Called concurrently from writer threads.
+     *
+     * @param records the audit records to write
+     * @throws RuntimeException if the records could not be written
+     */
+    void write(List<ManyToManyAuditRecord> records);
+
+    /**
+     * Returns whether the sink can write within the business transaction. In
+     * same-transaction mode, records of a transactional sink are passed to
+     * {@link #write(SessionImplementor, List)} just before the transaction completes and
+     * commit or roll back with it. Records of other sinks are written after commit.
+     */
+    default boolean transactional() {
+        return false;
+    }
+
+    /**
+     * Writes audit records as part of the session's current transaction. Only called on
+     * transactional sinks. By default delegates to {@link #write(List)}, which must then
+     * join the transaction bound to the calling thread.
+     *
+     * @param session the session whose transaction the records join
+     * @param records the audit records to write
+     * @throws RuntimeException if the records could not be written, failing the transaction
+     */
+    default void write(SessionImplementor session, List<ManyToManyAuditRecord> records) {
+        write(records);
+    }
+}
\ No newline at end of file
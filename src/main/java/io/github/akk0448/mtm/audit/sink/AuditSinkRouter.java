@@ -0,0 +1,118 @@
+package io.github.akk0448.mtm.audit.sink;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Routes audit records to the sink configured for their audit table, falling back
+ * to the default sink. Sink names are resolved once, so an unknown name fails at startup.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public class AuditSinkRouter {
+
+    private final AuditSink defaultSink;
+    private final Map<String, AuditSink> tableSinks = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * @param sinks the available sinks
+     * @param defaultSink name of the sink used for tables without their own entry
+     * @param tableSinks sink name per audit table name
+     */
+    public AuditSinkRouter(Collection<? extends AuditSink> sinks, String defaultSink, Map<String, String> tableSinks) {
+        Map<String, AuditSink> sinksByName = new HashMap<>();
+        for (AuditSink sink : sinks) {
+            if (sinksByName.putIfAbsent(sink.name(), sink) != null) {
+                throw new IllegalArgumentException("Duplicate audit sink name [" + sink.name() + "]");
+            }
+        }
+
+        this.defaultSink = resolve(sinksByName, defaultSink);
+        tableSinks.forEach((table, name) -> this.tableSinks.put(table, resolve(sinksByName, name)));
+    }
+
+    /**
+     * Returns the sink receiving the audit records of an association.
+     */
+    public AuditSink sinkFor(AuditManyToManyAssociationMetadata metadata) {
+        if (tableSinks.isEmpty()) return defaultSink;
+        return tableSinks.getOrDefault(metadata.tableName(), defaultSink);
+    }
+
+    /**
+     * Returns whether the audit records of an association go to a sink that can write
+     * within the business transaction.
+     *
+     * @see AuditSink#transactional()
+     */
+    public boolean isTransactional(AuditManyToManyAssociationMetadata metadata) {
+        return sinkFor(metadata).transactional();
+    }
+
+    /**
+     * Writes audit records to their sinks, keeping the order of the records of each sink.
+     * Every sink is attempted even if an earlier one fails.
+     *
+     * @param records the audit records to write
+     * @throws RuntimeException the first sink failure, with later ones suppressed
+     */
+    public void write(List<ManyToManyAuditRecord> records) {
+        write(records, AuditSink::write);
+    }
+
+    /**
+     * Writes audit records of transactional sinks as part of the session's current
+     * transaction, keeping the order of the records of each sink.
+     *
+     * @param session the session whose transaction the records join
+     * @param records the audit records to write, all routed to transactional sinks
+     * @throws RuntimeException the first sink failure, with later ones suppressed
+     */
+    public void write(SessionImplementor session, List<ManyToManyAuditRecord> records) {
+        write(records, (sink, sinkRecords) -> sink.write(session, sinkRecords));
+    }
+
+    private void write(List<ManyToManyAuditRecord> records, BiConsumer<AuditSink, List<ManyToManyAuditRecord>> writer) {
+        if (records.isEmpty()) return;
+
+        if (tableSinks.isEmpty()) {
+            writer.accept(defaultSink, records);
+            return;
+        }
+
+        Map<AuditSink, List<ManyToManyAuditRecord>> recordsBySink = new LinkedHashMap<>();
+        for (ManyToManyAuditRecord record : records) {
+            recordsBySink.computeIfAbsent(sinkFor(record.metadata()), sink -> new ArrayList<>()).add(record);
+        }
+
+        RuntimeException failure = null;
+        for (Map.Entry<AuditSink, List<ManyToManyAuditRecord>> entry : recordsBySink.entrySet()) {
+            try {
+                writer.accept(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static AuditSink resolve(Map<String, AuditSink> sinksByName, String name) {
+        AuditSink sink = sinksByName.get(name);
+        if (sink == null) {
+            throw new IllegalArgumentException("Unknown audit sink [" + name + "], available sinks: "
+                    + new TreeSet<>(sinksByName.keySet()));
+        }
+        return sink;
+    }
+}
\ No newline at end of file
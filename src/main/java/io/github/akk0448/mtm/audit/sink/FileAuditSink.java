@@ -0,0 +1,227 @@
+package io.github.akk0448.mtm.audit.sink;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Sink appending audit records as newline-delimited JSON to local files, for a log
+ * shipper to tail. A new file is started once the active one reaches its maximum size;
+ * files are never modified after rotation.
+ *
+ * <p>Writes use group commit: a call returns once its records are forced to disk, and
+ * a single {@code fsync} covers every record appended before it started, so concurrent
+ * writers share one sync instead of issuing one each.</p>
+ *
+ * <p>Line layout:
+ * {@code {"table":"user_roles_audit","action":"INSERT","user_id":1,"role_id":2,"created_by":"alice","created_on":"2024-01-01T10:00:00"}}</p>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+public class FileAuditSink implements AuditSink, DisposableBean {
+
+    public static final String NAME = "file";
+
+    private static final String FILE_PREFIX = "mtm-audit-";
+    private static final String FILE_SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final AtomicLong synced = new AtomicLong();
+
+    private FileChannel channel;
+    private long fileSize;
+    private long nextSequence;
+    private long appended;
+
+    public FileAuditSink(Path directory, long maxFileSize) throws IOException {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            this.nextSequence = files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX))
+                    .mapToLong(FileAuditSink::sequenceOf)
+                    .max()
+                    .orElse(-1) + 1;
+        }
+        this.channel = openFile();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * Appends the records to the active file and returns once they are on disk.
+     *
+     * @throws UncheckedIOException if the records cannot be written or synced
+     */
+    @Override
+    public void write(List<ManyToManyAuditRecord> records) {
+        if (records.isEmpty()) return;
+
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(encode(records));
+        try {
+            long ticket;
+            synchronized (appendLock) {
+                if (fileSize > 0 && fileSize + buffer.remaining() > maxFileSize) {
+                    rotate();
+                }
+                while (buffer.hasRemaining()) {
+                    fileSize += channel.write(buffer);
+                }
+                ticket = ++appended;
+            }
+            sync(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing audit records to " + directory, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        synchronized (appendLock) {
+            channel.force(false);
+            synced.accumulateAndGet(appended, Math::max);
+            channel.close();
+        }
+    }
+
+    /**
+     * Forces appended records to disk unless a sync started after the given append has
+     * already done so. The thread holding the sync lock syncs for all writers waiting on it.
+     */
+    private void sync(long ticket) throws IOException {
+        if (synced.get() >= ticket) return;
+
+        synchronized (syncLock) {
+            if (synced.get() >= ticket) return;
+
+            long target;
+            FileChannel current;
+            synchronized (appendLock) {
+                target = appended;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (ClosedChannelException e) {
+                // Rotated meanwhile; the rotation synced the file before closing it.
+                if (synced.get() < ticket) throw e;
+                return;
+            }
+            synced.accumulateAndGet(target, Math::max);
+        }
+    }
+
+    private void rotate() throws IOException {
+        channel.force(false);
+        synced.accumulateAndGet(appended, Math::max);
+        channel.close();
+        channel = openFile();
+    }
+
+    private FileChannel openFile() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", FILE_PREFIX, nextSequence++, FILE_SUFFIX));
+        FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forceDirectory();
+        fileSize = 0;
+        log.debug("Writing audit records to [{}]", path);
+        return file;
+    }
+
+    private void forceDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory for syncing.
+        }
+    }
+
+    private static String encode(List<ManyToManyAuditRecord> records) {
+        StringBuilder out = new StringBuilder(records.size() * 160);
+        for (ManyToManyAuditRecord record : records) {
+            AuditJoinColumn[] joinColumns = record.metadata().joinColumns();
+            AuditJoinColumn[] inverseJoinColumns = record.metadata().inverseJoinColumns();
+            Object[] keyValues = record.keyValues();
+
+            out.append("{\"table\":");
+            appendString(out, record.tableName());
+            out.append(",\"action\":\"").append(record.action().name()).append('"');
+            for (int i = 0; i < joinColumns.length; i++) {
+                appendField(out, joinColumns[i].columnName(), keyValues[i]);
+            }
+            for (int i = 0; i < inverseJoinColumns.length; i++) {
+                appendField(out, inverseJoinColumns[i].columnName(), keyValues[joinColumns.length + i]);
+            }
+            appendField(out, "created_by", record.auditor());
+            appendField(out, "created_on", record.auditTime().toString());
+            out.append("}\n");
+        }
+        return out.toString();
+    }
+
+    private static void appendField(StringBuilder out, String name, Object value) {
+        out.append(',');
+        appendString(out, name);
+        out.append(':');
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger || value instanceof BigDecimal || value instanceof Boolean) {
+            out.append(value);
+        } else {
+            appendString(out, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static long sequenceOf(String name) {
+        return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package io.github.akk0448.mtm.audit.sink;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.service.ManyToManyAuditService;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.util.List;
+
+/**
+ * Default sink writing audit records to the audit tables of the primary database
+ * through {@link ManyToManyAuditService}, in a new transaction per call, or on the
+ * session's connection when writing within the business transaction.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    public static final String NAME = "jdbc";
+
+    private final ManyToManyAuditService auditService;
+
+    public JdbcAuditSink(ManyToManyAuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void write(List<ManyToManyAuditRecord> records) {
+        auditService.persistAuditEntities(records);
+    }
+
+    @Override
+    public boolean transactional() {
+        return true;
+    }
+
+    @Override
+    public void write(SessionImplementor session, List<ManyToManyAuditRecord> records) {
+        auditService.persistAuditEntities(session, records);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package io.github.akk0448.mtm.audit.spool;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of Many-to-Many audit records for the audit spool.
+ * Common key types are written natively, other serializable values fall back
+ * to Java serialization. Serialized values are only read back as the key types
+ * declared by the association or as core JDK value types, so a tampered spool
+ * file cannot instantiate arbitrary classes.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+final class AuditEventCodec {
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte STRING = 3;
+    private static final byte UUID_VALUE = 4;
+    private static final byte SHORT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte BIG_DECIMAL = 7;
+    private static final byte LOCAL_DATE = 8;
+    private static final byte LOCAL_DATE_TIME = 9;
+    private static final byte SERIALIZED = 10;
+
+    private static final AuditAction[] ACTIONS = AuditAction.values();
+    private static final Set<String> VALUE_PACKAGES = Set.of("java.lang", "java.math", "java.time");
+
+    private AuditEventCodec() {
+    }
+
+    static void encode(ManyToManyAuditRecord record, DataOutputStream out) throws IOException {
+        Object[] keyValues = record.keyValues();
+        out.writeUTF(record.tableName());
+        out.writeByte(record.action().ordinal());
+        out.writeByte(keyValues.length);
+        for (Object value : keyValues) {
+            writeValue(value, out);
+        }
+        out.writeLong(record.timestamp());
+        writeNullableString(record.auditor(), out);
+    }
+
+    static ManyToManyAuditRecord decode(DataInputStream in, Map<String, AuditManyToManyAssociationMetadata> metadataByTable)
+            throws IOException {
+        String tableName = in.readUTF();
+        AuditManyToManyAssociationMetadata metadata = metadataByTable.get(tableName);
+        if (metadata == null) {
+            throw new InvalidObjectException("No audit metadata registered for table: " + tableName);
+        }
+
+        AuditAction action = ACTIONS[in.readByte()];
+        Object[] keyValues = new Object[in.readUnsignedByte()];
+        for (int i = 0; i < keyValues.length; i++) {
+            keyValues[i] = readValue(in, metadata);
+        }
+        long timestamp = in.readLong();
+        String auditor = readNullableString(in);
+
+        return new ManyToManyAuditRecord(metadata, action, keyValues, timestamp, auditor);
+    }
+
+    private static void writeValue(Object value, DataOutputStream out) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INTEGER);
+            out.writeInt(i);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            out.writeUTF(s);
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof Short s) {
+            out.writeByte(SHORT);
+            out.writeShort(s);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(BIG_DECIMAL);
+            out.writeUTF(d.toString());
+        } else if (value instanceof LocalDate d) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(d.toEpochDay());
+        } else if (value instanceof LocalDateTime dt) {
+            out.writeByte(LOCAL_DATE_TIME);
+            writeDateTime(dt, out);
+        } else if (value instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            out.writeByte(SERIALIZED);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } else {
+            throw new NotSerializableException("Unsupported audit column value type: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in, AuditManyToManyAssociationMetadata metadata) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case LONG -> in.readLong();
+            case INTEGER -> in.readInt();
+            case STRING -> in.readUTF();
+            case UUID_VALUE -> new UUID(in.readLong(), in.readLong());
+            case SHORT -> in.readShort();
+            case BOOLEAN -> in.readBoolean();
+            case BIG_DECIMAL -> new BigDecimal(in.readUTF());
+            case LOCAL_DATE -> LocalDate.ofEpochDay(in.readLong());
+            case LOCAL_DATE_TIME -> readDateTime(in);
+            case SERIALIZED -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    objectIn.setObjectInputFilter(valueFilter(metadata));
+                    yield objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new InvalidObjectException("Unknown audit column value type: " + e.getMessage());
+                }
+            }
+            default -> throw new StreamCorruptedException("Unknown audit column value tag: " + type);
+        };
+    }
+
+    /**
+     * Accepts the key types declared by the association, core JDK value types and arrays
+     * of either, and rejects every other class.
+     */
+    private static ObjectInputFilter valueFilter(AuditManyToManyAssociationMetadata metadata) {
+        Set<Class<?>> keyTypes = new HashSet<>();
+        for (AuditJoinColumn column : metadata.joinColumns()) {
+            keyTypes.add(column.columnClassType());
+        }
+        for (AuditJoinColumn column : metadata.inverseJoinColumns()) {
+            keyTypes.add(column.columnClassType());
+        }
+
+        return filterInfo -> {
+            Class<?> type = filterInfo.serialClass();
+            if (type == null) return ObjectInputFilter.Status.UNDECIDED;
+
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+            return type.isPrimitive() || keyTypes.contains(type) || type == UUID.class
+                    || VALUE_PACKAGES.contains(type.getPackageName())
+                    ? ObjectInputFilter.Status.ALLOWED
+                    : ObjectInputFilter.Status.REJECTED;
+        };
+    }
+
+    private static void writeDateTime(LocalDateTime dateTime, DataOutputStream out) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeNullableString(String value, DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
\ No newline at end of file
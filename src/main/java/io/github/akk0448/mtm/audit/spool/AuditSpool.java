@@ -0,0 +1,421 @@
+package io.github.akk0448.mtm.audit.spool;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only spool of Many-to-Many audit events awaiting persistence, backed by
+ * memory-mapped segment files.
+ *
+ * <p>Committed events are appended and forced to disk before they are written to their
+ * sinks, and acknowledged once the write succeeds. A segment is truncated, or deleted when it
+ * is no longer the active one, as soon as all of its events are acknowledged.
+ * Events whose write fails are handed back and retried in the background, up to a
+ * bounded number of retained events. Segments left behind by a crash, or holding
+ * events that could not be retried before shutdown, are replayed on startup, so
+ * delivery is at-least-once. Records of tables that are no longer audited are skipped
+ * on replay, and segments that cannot be read are renamed with a {@code .quarantined}
+ * suffix and left for inspection.</p>
+ *
+ * <p>Record layout: {@code [int length][int crc32][payload]}, followed by a zero
+ * length marking the end of the segment.</p>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+public class AuditSpool implements SmartInitializingSingleton, DisposableBean {
+
+    private static final String SEGMENT_PREFIX = "audit-spool-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int END_MARKER_BYTES = 4;
+    private static final String QUARANTINE_SUFFIX = ".quarantined";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ManyToManyAuditScanner auditScanner;
+    private final AuditSinkRouter sinkRouter;
+    private final int batchSize;
+    private final int retryCapacity;
+    private final List<Path> leftoverSegments;
+    private final Set<Segment> openSegments = new HashSet<>();
+    private final Deque<FailedWrite> failedWrites = new ArrayDeque<>();
+    private final ScheduledExecutorService retryExecutor;
+
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(recordBuffer);
+    private final CRC32 crc = new CRC32();
+
+    private long nextSequence;
+    private Segment active;
+    private int retainedEvents;
+
+    /**
+     * @param retryInterval delay between attempts to write events whose write failed
+     * @param retryCapacity maximum number of failed events retained in memory for retry;
+     *                      further failed events are left in their segment until the next startup
+     */
+    public AuditSpool(Path directory, int segmentSize, ManyToManyAuditScanner auditScanner,
+                      AuditSinkRouter sinkRouter, int batchSize, Duration retryInterval, int retryCapacity)
+            throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.auditScanner = auditScanner;
+        this.sinkRouter = sinkRouter;
+        this.batchSize = batchSize;
+        this.retryCapacity = retryCapacity;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            this.leftoverSegments = files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        this.nextSequence = leftoverSegments.isEmpty() ? 0 : sequenceOf(leftoverSegments.get(leftoverSegments.size() - 1)) + 1;
+        this.active = openSegment();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mtm-audit-spool-retry-");
+        threadFactory.setDaemon(true);
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.retryExecutor.scheduleWithFixedDelay(this::retryFailedWrites,
+                retryInterval.toMillis(), retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends committed audit events to the active segment, rolling over to a new
+     * segment when they do not fit, and forces them to disk.
+     *
+     * @param events the audit events to append
+     * @return the segment holding the events, to be acknowledged once they are persisted
+     * @throws IOException if the events cannot be encoded or do not fit in an empty segment
+     */
+    public synchronized Segment append(List<ManyToManyAuditRecord> events) throws IOException {
+        recordBuffer.reset();
+        int[] recordEnds = new int[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            AuditEventCodec.encode(events.get(i), recordOut);
+            recordEnds[i] = recordBuffer.size();
+        }
+
+        int required = recordBuffer.size() + events.size() * RECORD_HEADER_BYTES + END_MARKER_BYTES;
+        if (required > segmentSize) {
+            throw new IOException("Audit events of " + required + " bytes exceed spool segment size " + segmentSize);
+        }
+        if (active.buffer.remaining() < required) {
+            rollover();
+        }
+
+        byte[] records = recordBuffer.toByteArray();
+        MappedByteBuffer buffer = active.buffer;
+        int from = buffer.position();
+        int start = 0;
+        for (int end : recordEnds) {
+            crc.reset();
+            crc.update(records, start, end - start);
+            buffer.putInt(end - start);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(records, start, end - start);
+            start = end;
+        }
+        buffer.putInt(buffer.position(), 0);
+        buffer.force(from, buffer.position() + END_MARKER_BYTES - from);
+
+        active.outstanding += events.size();
+        return active;
+    }
+
+    /**
+     * Appends committed audit events like {@link #append(List)}, but logs and returns
+     * {@code null} when they cannot be spooled, so the caller still writes them, only
+     * without the spool's durability.
+     *
+     * @param events the audit events to append
+     * @return the segment holding the events, or {@code null} if they were not spooled
+     */
+    public Segment tryAppend(List<ManyToManyAuditRecord> events) {
+        try {
+            return append(events);
+        } catch (Exception e) {
+            log.error("Failed to spool {} audit records, writing them without spool: {}",
+                    events.size(),
+                    e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Replays segments left over from a previous run, deleting each one once all its
+     * events are persisted. Events whose write fails are retried like any other failed write.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Path path : leftoverSegments) {
+            List<ManyToManyAuditRecord> events;
+            try {
+                events = readSegment(path);
+            } catch (Exception e) {
+                quarantine(path, e);
+                continue;
+            }
+
+            Segment segment = replaySegment(path, events.size());
+            for (int from = 0; from < events.size(); from += batchSize) {
+                List<ManyToManyAuditRecord> batch = events.subList(from, Math.min(from + batchSize, events.size()));
+                try {
+                    sinkRouter.write(batch);
+                    segment.acknowledge(batch.size());
+                } catch (Exception e) {
+                    log.error("Failed to replay {} audit records from spool segment [{}]: {}",
+                            batch.size(), path, e.getMessage(), e);
+                    segment.retry(batch);
+                }
+            }
+            if (!events.isEmpty()) {
+                log.info("Replayed {} spooled audit records from [{}]", events.size(), path);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        retryExecutor.shutdownNow();
+        try {
+            retryExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            failedWrites.clear();
+            for (Segment segment : new ArrayList<>(openSegments)) {
+                boolean drained = segment.outstanding == 0;
+                close(segment, drained);
+                if (!drained) {
+                    log.warn("Audit spool segment [{}] holds {} unwritten audit records, they will be replayed on startup",
+                            segment.path, segment.outstanding);
+                }
+            }
+        }
+    }
+
+    private synchronized void retry(Segment segment, List<ManyToManyAuditRecord> events) {
+        if (retainedEvents + events.size() > retryCapacity) {
+            log.warn("Audit spool retry capacity of {} records reached, {} failed audit records of segment [{}] "
+                    + "will be replayed on startup", retryCapacity, events.size(), segment.path);
+            return;
+        }
+        failedWrites.addLast(new FailedWrite(segment, List.copyOf(events)));
+        retainedEvents += events.size();
+    }
+
+    /**
+     * Writes the retained failed events in the order they failed, stopping at the first
+     * write that fails again.
+     */
+    private void retryFailedWrites() {
+        FailedWrite failed;
+        while ((failed = peekFailedWrite()) != null) {
+            try {
+                sinkRouter.write(failed.events());
+            } catch (Exception e) {
+                log.warn("Retry of {} failed audit records did not succeed, {} records waiting: {}",
+                        failed.events().size(), retainedEvents, e.getMessage());
+                return;
+            }
+            removeFailedWrite(failed);
+            failed.segment().acknowledge(failed.events().size());
+        }
+    }
+
+    private synchronized FailedWrite peekFailedWrite() {
+        return failedWrites.peekFirst();
+    }
+
+    private synchronized void removeFailedWrite(FailedWrite failed) {
+        if (failedWrites.peekFirst() == failed) {
+            failedWrites.removeFirst();
+            retainedEvents -= failed.events().size();
+        }
+    }
+
+    private synchronized void acknowledge(Segment segment, int count) {
+        segment.outstanding -= count;
+        if (segment.outstanding > 0) return;
+
+        if (segment == active) {
+            segment.buffer.putInt(0, 0);
+            segment.buffer.position(0);
+        } else {
+            close(segment, true);
+        }
+    }
+
+    private synchronized Segment replaySegment(Path path, int events) {
+        Segment segment = new Segment(path, null, null);
+        segment.outstanding = events;
+        openSegments.add(segment);
+        if (events == 0) {
+            close(segment, true);
+        }
+        return segment;
+    }
+
+    private void quarantine(Path path, Exception cause) {
+        Path target = path.resolveSibling(path.getFileName() + QUARANTINE_SUFFIX);
+        try {
+            Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+            log.error("Audit spool segment [{}] cannot be read and was moved to [{}]: {}",
+                    path, target, cause.getMessage(), cause);
+        } catch (IOException e) {
+            log.error("Audit spool segment [{}] cannot be read and could not be moved aside: {}",
+                    path, e.getMessage(), cause);
+        }
+    }
+
+    private void rollover() throws IOException {
+        Segment previous = active;
+        active = openSegment();
+        if (previous.outstanding == 0) {
+            close(previous, true);
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.putInt(0, 0);
+
+        Segment segment = new Segment(path, channel, buffer);
+        openSegments.add(segment);
+        return segment;
+    }
+
+    private void close(Segment segment, boolean delete) {
+        openSegments.remove(segment);
+        try {
+            if (segment.channel != null) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+            if (delete) {
+                Files.deleteIfExists(segment.path);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close audit spool segment [{}]: {}", segment.path, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the events of a segment up to its end marker or first corrupt record, skipping
+     * records that can no longer be decoded, such as those of tables that are no longer audited.
+     */
+    private List<ManyToManyAuditRecord> readSegment(Path path) throws IOException {
+        List<ManyToManyAuditRecord> events = new ArrayList<>();
+        CRC32 checksums = new CRC32();
+        int skipped = 0;
+        String skipReason = null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining() - Integer.BYTES) break;
+
+                int checksum = buffer.getInt();
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+
+                checksums.reset();
+                checksums.update(payload);
+                if ((int) checksums.getValue() != checksum) {
+                    log.warn("Corrupt record in audit spool segment [{}], ignoring the rest of the segment", path);
+                    break;
+                }
+
+                try {
+                    events.add(AuditEventCodec.decode(new DataInputStream(new ByteArrayInputStream(payload)),
+                            auditScanner.getAuditTableMetadata()));
+                } catch (InvalidObjectException | InvalidClassException e) {
+                    skipped++;
+                    skipReason = e.getMessage();
+                }
+            }
+        }
+
+        if (skipped > 0) {
+            log.warn("Skipped {} records of audit spool segment [{}] that can no longer be decoded: {}",
+                    skipped, path, skipReason);
+        }
+        return events;
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Spool segment file holding appended audit events.
+     */
+    public final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int outstanding;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Marks audit events of this segment as persisted.
+         *
+         * @param count number of persisted events
+         */
+        public void acknowledge(int count) {
+            AuditSpool.this.acknowledge(this, count);
+        }
+
+        /**
+         * Hands back audit events of this segment whose write failed. They are retried in
+         * the background and acknowledged once written.
+         *
+         * @param events the events that were not persisted
+         */
+        public void retry(List<ManyToManyAuditRecord> events) {
+            AuditSpool.this.retry(this, events);
+        }
+    }
+
+    private record FailedWrite(Segment segment, List<ManyToManyAuditRecord> events) {
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package io.github.akk0448.mtm.audit.utils;
 import io.github.akk0448.mtm.audit.enums.AuditAction;
 import io.github.akk0448.mtm.audit.events.ManyToManyJoinColumn;
 import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
 import org.hibernate.envers.DefaultRevisionEntity;
 import org.hibernate.envers.RevisionType;
 
@@ -33,6 +34,8 @@ public class AuditUtils {
 
     /**
      * Converts AuditJoinColumn metadata to ManyToManyJoinColumn data.
+     * Values are read by the exact Envers property name resolved by the scanner,
+     * falling back to a case-insensitive lookup for unresolved columns.
      *
      * @param map the data map containing column values
      * @param columns the metadata columns to extract
@@ -43,13 +46,43 @@ public class AuditUtils {
         ManyToManyJoinColumn[] joinColumns = new ManyToManyJoinColumn[n];
 
         for (int i = 0; i < n; i++) {
-            AuditJoinColumn column = columns[i];
-            joinColumns[i] = new ManyToManyJoinColumn(column.columnName(), getValueIgnoreCase(map, column.auditColumnName()));
+            joinColumns[i] = new ManyToManyJoinColumn(columns[i].columnName(), getColumnValue(map, columns[i]));
         }
 
         return joinColumns;
     }
 
+    /**
+     * Extracts the key values of an audit record: join column values followed by
+     * inverse join column values, in the order of the association metadata.
+     *
+     * @param map the data map containing column values
+     * @param metadata the association metadata
+     * @return the key values
+     */
+    public static Object[] getKeyValues(Map<String, Object> map, AuditManyToManyAssociationMetadata metadata) {
+        AuditJoinColumn[] joinColumns = metadata.joinColumns();
+        AuditJoinColumn[] inverseJoinColumns = metadata.inverseJoinColumns();
+        Object[] values = new Object[joinColumns.length + inverseJoinColumns.length];
+
+        for (int i = 0; i < joinColumns.length; i++) {
+            values[i] = getColumnValue(map, joinColumns[i]);
+        }
+        for (int i = 0; i < inverseJoinColumns.length; i++) {
+            values[joinColumns.length + i] = getColumnValue(map, inverseJoinColumns[i]);
+        }
+
+        return values;
+    }
+
+    private static Object getColumnValue(Map<String, Object> map, AuditJoinColumn column) {
+        Object value = map.get(column.auditColumnName());
+        if (value == null && !map.containsKey(column.auditColumnName())) {
+            value = getValueIgnoreCase(map, column.auditColumnName());
+        }
+        return value;
+    }
+
     /**
      * Maps Hibernate Envers RevisionType to AuditAction.
      *
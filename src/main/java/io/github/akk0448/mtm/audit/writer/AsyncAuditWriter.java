@@ -0,0 +1,359 @@
+package io.github.akk0448.mtm.audit.writer;
+
+import io.github.akk0448.mtm.audit.config.MtmAuditProperties;
+import io.github.akk0448.mtm.audit.enums.AuditOverflowPolicy;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
+import io.github.akk0448.mtm.audit.spool.AuditSpool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes Many-to-Many audit events through bounded in-memory queues drained
+ * by a dedicated writer pool, keeping audit persistence off the caller thread.
+ *
+ * <p>Events are striped by audit table and key tuple over one queue per writer
+ * thread. Each stripe is drained in order by its own thread and written in its own
+ * batches, so changes to the same association row are persisted in the order they
+ * were committed. Events are only taken off a stripe under its lock, so when the
+ * caller thread writes, under the {@code CALLER_RUNS} overflow policy or after shutdown,
+ * it first writes the events queued ahead of its own on the same stripe.</p>
+ *
+ * <p>The stripe lock is fair and the writer thread does not hold it while waiting for
+ * events, so a caller waits at most for the batch the writer thread is writing at that
+ * moment before it gets the lock.</p>
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+@Slf4j
+public class AsyncAuditWriter {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final AuditSinkRouter sinkRouter;
+    private final List<Stripe> stripes;
+    private final ExecutorService executor;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final Duration shutdownTimeout;
+    private final int batchSize;
+    private final AuditMetrics metrics;
+    private final AuditSpool spool;
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public AsyncAuditWriter(AuditSinkRouter sinkRouter, MtmAuditProperties.Async settings, int batchSize,
+                            AuditMetrics metrics) {
+        this(sinkRouter, settings, batchSize, metrics, null);
+    }
+
+    /**
+     * @param spool spool the events are appended to before they are queued, or {@code null}
+     */
+    public AsyncAuditWriter(AuditSinkRouter sinkRouter, MtmAuditProperties.Async settings, int batchSize,
+                            AuditMetrics metrics, AuditSpool spool) {
+        this.sinkRouter = sinkRouter;
+        this.stripes = createStripes(settings.getThreads(), settings.getQueueCapacity());
+        this.overflowPolicy = settings.getOverflowPolicy();
+        this.shutdownTimeout = settings.getShutdownTimeout();
+        this.batchSize = batchSize;
+        this.metrics = metrics;
+        this.spool = spool;
+        this.executor = createExecutor(settings.getThreads(), settings.isVirtualThreads());
+
+        for (Stripe stripe : stripes) {
+            executor.execute(() -> drain(stripe));
+        }
+    }
+
+    /**
+     * Queues audit events for persistence, applying the overflow policy when an event's stripe is full.
+     * Events submitted after shutdown are persisted on the caller thread, after the events
+     * still queued on their stripe. With a spool, the events are spooled first and
+     * acknowledged as they are persisted.
+     *
+     * @param events the audit events to persist
+     */
+    public void submit(List<ManyToManyAuditRecord> events) {
+        AuditSpool.Segment segment = spool != null ? spool.tryAppend(events) : null;
+        for (ManyToManyAuditRecord event : events) {
+            QueuedEvent queued = new QueuedEvent(event, segment);
+            Stripe stripe = stripeOf(event);
+            if (running && stripe.queue.offer(queued)) {
+                if (stripe.idle) {
+                    stripe.signalNotEmpty();
+                }
+                if (!running) {
+                    // Shutdown may have drained the stripe for the last time before the offer.
+                    drainOnCaller(stripe);
+                }
+                continue;
+            }
+
+            if (!running) {
+                writeOnCaller(stripe, queued);
+                continue;
+            }
+
+            switch (overflowPolicy) {
+                case BLOCK -> {
+                    try {
+                        stripe.queue.put(queued);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        writeOnCaller(stripe, queued);
+                    }
+                }
+                case DROP -> {
+                    long dropped = droppedCount.incrementAndGet();
+                    metrics.dropped(1);
+                    if (dropped == 1 || dropped % 1000 == 0) {
+                        log.warn("Audit queue full, {} audit records dropped so far", dropped);
+                    }
+                }
+                case CALLER_RUNS -> writeOnCaller(stripe, queued);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of audit events discarded because the queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Returns the number of audit events waiting in the queues.
+     */
+    public int getQueueSize() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Stops accepting events and waits for queued events to be written.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Audit writer did not drain within {}, {} audit records pending", shutdownTimeout, getQueueSize());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                List<QueuedEvent> remaining = new ArrayList<>();
+                stripe.queue.drainTo(remaining);
+                if (!remaining.isEmpty()) {
+                    write(remaining);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private void drain(Stripe stripe) {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !stripe.queue.isEmpty()) {
+            try {
+                stripe.lock.lockInterruptibly();
+                try {
+                    if (stripe.queue.drainTo(batch, batchSize) > 0) {
+                        write(batch);
+                    } else if (running) {
+                        stripe.awaitNotEmpty();
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the events queued on the stripe on the caller thread until the event fits in
+     * it, or, once shut down, until the stripe is empty and then the event itself.
+     */
+    private void writeOnCaller(Stripe stripe, QueuedEvent queued) {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+
+        stripe.lock.lock();
+        try {
+            while (!(running && !Thread.currentThread().isInterrupted() && stripe.queue.offer(queued))) {
+                if (stripe.queue.drainTo(batch, batchSize) == 0) {
+                    write(List.of(queued));
+                    return;
+                }
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes every event left on the stripe on the caller thread, in queue order.
+     */
+    private void drainOnCaller(Stripe stripe) {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+
+        stripe.lock.lock();
+        try {
+            while (stripe.queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void write(List<QueuedEvent> batch) {
+        List<ManyToManyAuditRecord> events = new ArrayList<>(batch.size());
+        for (QueuedEvent queued : batch) {
+            events.add(queued.event());
+        }
+
+        long start = System.nanoTime();
+        boolean persisted;
+        try {
+            sinkRouter.write(events);
+            metrics.persisted(events, System.nanoTime() - start);
+            persisted = true;
+        } catch (Exception e) {
+            metrics.failed(events);
+            log.error("Failed to persist batch of {} audit records: {}",
+                    events.size(),
+                    e.getMessage(), e);
+            persisted = false;
+        }
+
+        AuditSpool.Segment segment = null;
+        List<ManyToManyAuditRecord> segmentEvents = new ArrayList<>();
+        for (QueuedEvent queued : batch) {
+            if (queued.segment() != segment) {
+                settle(segment, segmentEvents, persisted);
+                segment = queued.segment();
+                segmentEvents = new ArrayList<>();
+            }
+            segmentEvents.add(queued.event());
+        }
+        settle(segment, segmentEvents, persisted);
+    }
+
+    /**
+     * Acknowledges persisted events to their spool segment, or hands failed ones back for retry.
+     */
+    private static void settle(AuditSpool.Segment segment, List<ManyToManyAuditRecord> events, boolean persisted) {
+        if (segment == null || events.isEmpty()) return;
+
+        if (persisted) {
+            segment.acknowledge(events.size());
+        } else {
+            segment.retry(events);
+        }
+    }
+
+    /**
+     * Returns the queue of the stripe owning the event's audit table and key tuple.
+     */
+    private Stripe stripeOf(ManyToManyAuditRecord event) {
+        int hash = 31 * event.tableName().hashCode() + Arrays.hashCode(event.keyValues());
+        return stripes.get(Math.floorMod(hash ^ (hash >>> 16), stripes.size()));
+    }
+
+    private static List<Stripe> createStripes(int count, int totalCapacity) {
+        List<Stripe> stripes = new ArrayList<>(count);
+        int capacity = Math.max(1, (totalCapacity + count - 1) / count);
+        for (int i = 0; i < count; i++) {
+            stripes.add(new Stripe(new ArrayBlockingQueue<>(capacity)));
+        }
+        return List.copyOf(stripes);
+    }
+
+    private static ExecutorService createExecutor(int threads, boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not supported on this JVM, using platform threads for audit writer");
+            }
+        }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("mtm-audit-writer-"));
+    }
+
+    private record QueuedEvent(ManyToManyAuditRecord event, AuditSpool.Segment segment) {
+    }
+
+    /**
+     * Queue of one writer thread. Events are taken off the queue and written only while
+     * holding its lock, so they are written in queue order.
+     */
+    private static final class Stripe {
+
+        private final BlockingQueue<QueuedEvent> queue;
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Condition notEmpty = lock.newCondition();
+        private volatile boolean idle;
+
+        private Stripe(BlockingQueue<QueuedEvent> queue) {
+            this.queue = queue;
+        }
+
+        /**
+         * Waits, releasing the lock, until an event is offered or the poll interval elapses.
+         * Must be called holding the lock.
+         */
+        private void awaitNotEmpty() throws InterruptedException {
+            idle = true;
+            try {
+                if (queue.isEmpty()) {
+                    notEmpty.await(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                idle = false;
+            }
+        }
+
+        private void signalNotEmpty() {
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package io.github.akk0448.mtm.audit.writer;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Database-specific bulk load path for large batches of audit records, such as
+ * PostgreSQL's COPY. Used for batches of at least {@code mtm.audit.bulk-threshold}
+ * records; smaller batches and connections the writer cannot handle go through
+ * batched INSERT statements.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public interface AuditBulkWriter {
+
+    /**
+     * Writes the records of one audit table on the given connection, within its current transaction.
+     *
+     * @param connection the connection to write on
+     * @param metadata the audit table the records belong to
+     * @param records the audit records to write
+     * @return {@code false} if the bulk path is not available on this connection and nothing was written
+     * @throws SQLException if the bulk load fails
+     */
+    boolean write(Connection connection, AuditManyToManyAssociationMetadata metadata,
+                  List<ManyToManyAuditRecord> records) throws SQLException;
+}
\ No newline at end of file
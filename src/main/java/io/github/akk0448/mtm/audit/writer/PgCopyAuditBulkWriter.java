@@ -0,0 +1,111 @@
+package io.github.akk0448.mtm.audit.writer;
+
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bulk writer streaming audit records into PostgreSQL with {@code COPY ... FROM STDIN},
+ * through the PgJDBC {@code CopyManager}. Rows are rendered into a small buffer that
+ * is flushed to the server whenever it fills, so memory use does not grow with the
+ * batch. Connections that do not wrap a PgJDBC connection are left to the INSERT path.
+ *
+ * @author Aniket Kumar
+ * @since 1.1.0
+ */
+public class PgCopyAuditBulkWriter implements AuditBulkWriter {
+
+    private static final String[] AUDIT_COLUMNS = {"action", "created_by", "created_on", "updated_by", "updated_on"};
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final Map<String, String> copyQueries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean write(Connection connection, AuditManyToManyAssociationMetadata metadata,
+                         List<ManyToManyAuditRecord> records) throws SQLException {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            return false;
+        }
+
+        String copyQuery = copyQueries.computeIfAbsent(metadata.tableName(), table -> copyQuery(metadata));
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copyQuery);
+        try {
+            StringBuilder csv = new StringBuilder(FLUSH_THRESHOLD + 1024);
+            for (ManyToManyAuditRecord record : records) {
+                appendRow(csv, record);
+                if (csv.length() >= FLUSH_THRESHOLD) {
+                    flush(copyIn, csv);
+                }
+            }
+            flush(copyIn, csv);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        return true;
+    }
+
+    private static String copyQuery(AuditManyToManyAssociationMetadata metadata) {
+        StringBuilder sql = new StringBuilder("COPY ").append(metadata.tableName().toLowerCase()).append(" (");
+        for (AuditJoinColumn col : metadata.joinColumns()) {
+            sql.append(col.columnName().toLowerCase()).append(", ");
+        }
+        for (AuditJoinColumn col : metadata.inverseJoinColumns()) {
+            sql.append(col.columnName().toLowerCase()).append(", ");
+        }
+        sql.append(String.join(", ", AUDIT_COLUMNS));
+        return sql.append(") FROM STDIN WITH (FORMAT csv)").toString();
+    }
+
+    /**
+     * Renders a record as a CSV row in COPY column order. Empty unquoted fields are NULL.
+     */
+    private static void appendRow(StringBuilder csv, ManyToManyAuditRecord record) {
+        for (Object keyValue : record.keyValues()) {
+            appendField(csv, keyValue).append(',');
+        }
+        LocalDateTime auditTime = record.auditTime();
+        appendField(csv, record.action().name()).append(',');
+        appendField(csv, record.auditor()).append(',');
+        appendField(csv, auditTime).append(',');
+        appendField(csv, record.auditor()).append(',');
+        appendField(csv, auditTime).append('\n');
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder csv) throws SQLException {
+        if (csv.length() == 0) return;
+
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        csv.setLength(0);
+    }
+
+    private static StringBuilder appendField(StringBuilder csv, Object value) {
+        if (value == null) {
+            return csv;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return csv.append(value);
+        }
+        String text = value.toString();
+        csv.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') csv.append('"');
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
\ No newline at end of file
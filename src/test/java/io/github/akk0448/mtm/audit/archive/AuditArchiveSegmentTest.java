@@ -0,0 +1,125 @@
+package io.github.akk0448.mtm.audit.archive;
+
+import io.github.akk0448.mtm.audit.archive.AuditArchiveColumn.Kind;
+import io.github.akk0448.mtm.audit.archive.AuditArchiveSegment.ColumnInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditArchiveSegmentTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_789);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsColumnsAndStatistics() throws IOException {
+        AuditArchiveColumn ids = column("user_id", Kind.LONG, 5L, null, -3, (short) 7);
+        AuditArchiveColumn auditors = column("created_by", Kind.STRING, "bob", "alice", null, "\u00fcn\u00efcode");
+        AuditArchiveColumn times = column("created_on", Kind.TIMESTAMP,
+                NOON, Timestamp.valueOf(NOON.minusDays(1)), null, NOON.plusHours(1));
+        Path path = directory.resolve("user_roles_audit-1" + AuditArchiveSegment.SUFFIX);
+
+        AuditArchiveSegment.write(path, "user_roles_audit", 4, List.of(ids, auditors, times));
+        AuditArchiveSegment segment = AuditArchiveSegment.open(path);
+
+        assertEquals("user_roles_audit", segment.tableName());
+        assertEquals(4, segment.rowCount());
+        assertColumn(segment.column("user_id"), Kind.LONG, -3L, 7L);
+        assertColumn(segment.column("created_by"), Kind.STRING, "alice", "\u00fcn\u00efcode");
+        assertColumn(segment.column("created_on"), Kind.TIMESTAMP, NOON.minusDays(1), NOON.plusHours(1));
+        assertNull(segment.column("missing"));
+
+        Map<String, Object[]> values = segment.readColumns();
+        assertEquals(List.of("user_id", "created_by", "created_on"), List.copyOf(values.keySet()));
+        assertArrayEquals(new Object[]{5L, null, -3L, 7L}, values.get("user_id"));
+        assertArrayEquals(new Object[]{"bob", "alice", null, "\u00fcn\u00efcode"}, values.get("created_by"));
+        assertArrayEquals(new Object[]{NOON, NOON.minusDays(1), null, NOON.plusHours(1)}, values.get("created_on"));
+        assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+    }
+
+    @Test
+    void roundTripsAnEmptySegment() throws IOException {
+        Path path = directory.resolve("empty" + AuditArchiveSegment.SUFFIX);
+
+        AuditArchiveSegment.write(path, "user_roles_audit", 0, List.of(new AuditArchiveColumn("user_id", Kind.LONG)));
+        AuditArchiveSegment segment = AuditArchiveSegment.open(path);
+
+        assertEquals(0, segment.rowCount());
+        assertNull(segment.column("user_id").min());
+        assertFalse(segment.column("user_id").mayContain(1L));
+        assertArrayEquals(new Object[0], segment.readColumns().get("user_id"));
+    }
+
+    @Test
+    void replacesAnExistingSegment() throws IOException {
+        Path path = directory.resolve("replaced" + AuditArchiveSegment.SUFFIX);
+        AuditArchiveSegment.write(path, "user_roles_audit", 1, List.of(column("user_id", Kind.LONG, 1L)));
+
+        AuditArchiveSegment.write(path, "user_roles_audit", 2, List.of(column("user_id", Kind.LONG, 2L, 3L)));
+
+        assertArrayEquals(new Object[]{2L, 3L}, AuditArchiveSegment.open(path).readColumns().get("user_id"));
+    }
+
+    @Test
+    void mayContainIsBoundedByMinAndMaxInclusive() {
+        ColumnInfo column = new ColumnInfo("user_id", Kind.LONG, 10L, 20L, 0);
+
+        assertFalse(column.mayContain(9L));
+        assertTrue(column.mayContain(10L));
+        assertTrue(column.mayContain(15L));
+        assertTrue(column.mayContain(20L));
+        assertFalse(column.mayContain(21L));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSegments() throws IOException {
+        Path path = directory.resolve("garbage" + AuditArchiveSegment.SUFFIX);
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        assertThrows(StreamCorruptedException.class, () -> AuditArchiveSegment.open(path));
+    }
+
+    @Test
+    void mapsJavaTypesToStorageKinds() {
+        assertEquals(Kind.LONG, Kind.of(Long.class));
+        assertEquals(Kind.LONG, Kind.of(int.class));
+        assertEquals(Kind.LONG, Kind.of(Short.class));
+        assertEquals(Kind.TIMESTAMP, Kind.of(LocalDateTime.class));
+        assertEquals(Kind.TIMESTAMP, Kind.of(Timestamp.class));
+        assertEquals(Kind.STRING, Kind.of(String.class));
+        assertEquals(Kind.STRING, Kind.of(java.util.UUID.class));
+
+        assertEquals(42L, AuditArchiveColumn.normalize(Kind.LONG, "42"));
+        assertEquals(NOON.withNano(0), AuditArchiveColumn.normalize(Kind.TIMESTAMP,
+                Date.from(NOON.withNano(0).toInstant(java.time.ZoneOffset.UTC))));
+    }
+
+    private static AuditArchiveColumn column(String name, Kind kind, Object... values) {
+        AuditArchiveColumn column = new AuditArchiveColumn(name, kind);
+        for (Object value : values) {
+            column.add(value);
+        }
+        return column;
+    }
+
+    private static void assertColumn(ColumnInfo column, Kind kind, Object min, Object max) {
+        assertEquals(kind, column.kind());
+        assertEquals(min, column.min());
+        assertEquals(max, column.max());
+        assertTrue(column.mayContain(min));
+        assertTrue(column.mayContain(max));
+    }
+}
\ No newline at end of file
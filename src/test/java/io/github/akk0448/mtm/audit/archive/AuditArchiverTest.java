@@ -0,0 +1,128 @@
+package io.github.akk0448.mtm.audit.archive;
+
+import io.github.akk0448.mtm.audit.enums.AuditAssociationSide;
+import io.github.akk0448.mtm.audit.fixture.AuditTestApplication;
+import io.github.akk0448.mtm.audit.query.AuditHistoryEntry;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AuditTestApplication.class)
+class AuditArchiverTest {
+
+    private static final String TABLE = "user_roles_audit";
+    private static final LocalDateTime OLD = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+    @Autowired
+    private ManyToManyAuditScanner scanner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    private long userId;
+
+    /**
+     * Starts every test without rows older than the cutoff, under a user no other row has.
+     */
+    @BeforeEach
+    void nextUser() {
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE created_on < ?", CUTOFF);
+        userId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 10 FROM " + TABLE, Long.class);
+    }
+
+    @Test
+    void archivesAndDeletesRowsCreatedBeforeTheCutoff() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            insert(100 + i, OLD.plusMinutes(i));
+        }
+        long recent = insert(200, CUTOFF.plusDays(1));
+
+        long archived = archiver(jdbcTemplate, 2, 1).archive(CUTOFF);
+
+        assertEquals(5, archived);
+        assertEquals(List.of(recent), jdbcTemplate.queryForList("SELECT id FROM " + TABLE + " WHERE user_id = ?",
+                Long.class, userId));
+        assertEquals(3, segments());
+        List<AuditHistoryEntry> history = new AuditArchiveReader(scanner, directory)
+                .findHistory(TABLE, AuditAssociationSide.OWNING, new Object[]{userId});
+        assertEquals(List.of(100L, 101L, 102L, 103L, 104L), history.stream()
+                .map(entry -> (Long) entry.event().inverseJoinColumns()[0].columnValue())
+                .toList());
+        assertEquals(OLD, history.get(0).event().createdOn());
+    }
+
+    @Test
+    void deletesOnlyTheRowsItArchived() throws IOException {
+        insert(100, OLD);
+        long late = insert(101, OLD);
+        insert(102, OLD);
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id = ?", late);
+
+        // commits the deleted row again, with its old id, once the archiver has selected its chunk
+        JdbcTemplate committingLate = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            private boolean committed;
+
+            @Override
+            public int update(String sql, Object... args) {
+                if (!committed) {
+                    committed = true;
+                    jdbcTemplate.update("INSERT INTO " + TABLE + " (id, user_id, role_id, action, created_by, created_on)"
+                            + " VALUES (?, ?, 101, 'INSERT', 'alice', ?)", late, userId, OLD);
+                }
+                return super.update(sql, args);
+            }
+        };
+
+        assertEquals(2, archiver(committingLate, 10, 10).archive(CUTOFF));
+        assertEquals(List.of(late), jdbcTemplate.queryForList("SELECT id FROM " + TABLE + " WHERE user_id = ?",
+                Long.class, userId));
+    }
+
+    @Test
+    void archivesNothingWithoutOldRows() throws IOException {
+        insert(100, CUTOFF.plusDays(1));
+
+        assertEquals(0, archiver(jdbcTemplate, 10, 10).archive(CUTOFF));
+        assertEquals(0, segments());
+    }
+
+    private AuditArchiver archiver(JdbcTemplate template, int chunkSize, int deleteBatchSize) {
+        return new AuditArchiver(scanner, template, directory, chunkSize, deleteBatchSize, Period.ofDays(90),
+                Duration.ofDays(1));
+    }
+
+    private long insert(long roleId, LocalDateTime createdOn) {
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (user_id, role_id, action, created_by, created_on)"
+                + " VALUES (?, ?, 'INSERT', 'alice', ?)", userId, roleId, createdOn);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + TABLE, Long.class);
+    }
+
+    private long segments() throws IOException {
+        Path tableDirectory = directory.resolve(TABLE);
+        if (!Files.isDirectory(tableDirectory)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(tableDirectory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(AuditArchiveSegment.SUFFIX)).count();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package io.github.akk0448.mtm.audit.ddl;
+
+import io.github.akk0448.mtm.audit.enums.AuditIndexType;
+import io.github.akk0448.mtm.audit.fixture.AuditTestApplication;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metadata.AuditTableIndex;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AuditTestApplication.class)
+@DirtiesContext
+class AuditTableCreatorTest {
+
+    @Autowired
+    private ManyToManyAuditScanner scanner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RecordingStrategy strategy = new RecordingStrategy();
+
+    @Test
+    void leavesUpToDateTablesUntouched() {
+        createAuditTables(Set.of());
+
+        assertEquals(1, strategy.catalogQueries);
+        assertEquals(List.of(), strategy.statements);
+    }
+
+    @Test
+    void createsMissingTables() {
+        jdbcTemplate.execute("DROP TABLE user_roles_audit");
+
+        createAuditTables(Set.of());
+
+        assertEquals(1, strategy.statements.size());
+        assertTrue(strategy.statements.get(0).startsWith("CREATE TABLE"));
+        assertEquals(Set.of("id", "user_id", "role_id", "action", "created_by", "created_on", "updated_by", "updated_on"),
+                columns());
+    }
+
+    @Test
+    void addsAllMissingColumnsOfATableInOneStatement() {
+        jdbcTemplate.execute("DELETE FROM user_roles_audit");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS ix_user_roles_audit_join");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS ix_user_roles_audit_inverse");
+        jdbcTemplate.execute("ALTER TABLE user_roles_audit DROP COLUMN user_id");
+        jdbcTemplate.execute("ALTER TABLE user_roles_audit DROP COLUMN role_id");
+
+        createAuditTables(Set.of());
+
+        assertEquals(List.of("ALTER TABLE user_roles_audit ADD COLUMN (user_id BIGINT NOT NULL, role_id BIGINT NOT NULL)"),
+                strategy.statements);
+        assertTrue(columns().containsAll(Set.of("user_id", "role_id")));
+    }
+
+    @Test
+    void reconcilesEveryAuditTableWithOneCatalogQuery() {
+        jdbcTemplate.execute("DROP TABLE user_roles_audit");
+        jdbcTemplate.execute("DROP TABLE article_editors_audit");
+
+        createAuditTables(Set.of());
+
+        assertEquals(1, strategy.catalogQueries);
+        assertEquals(2, strategy.statements.size());
+        assertFalse(columns().isEmpty());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article_editors_audit", Integer.class));
+    }
+
+    @Test
+    void createsTheConfiguredIndexesWithNewTables() {
+        jdbcTemplate.execute("DROP TABLE user_roles_audit");
+
+        createAuditTables(EnumSet.allOf(AuditIndexType.class));
+
+        assertEquals(Set.of("ix_user_roles_audit_join", "ix_user_roles_audit_inverse", "ix_user_roles_audit_created_on"),
+                indexes());
+    }
+
+    @Test
+    void createsOnlyTheMissingIndexesOfExistingTables() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS ix_user_roles_audit_inverse");
+
+        createAuditTables(EnumSet.of(AuditIndexType.JOIN_COLUMNS, AuditIndexType.INVERSE_JOIN_COLUMNS));
+
+        assertEquals(List.of("CREATE INDEX IF NOT EXISTS ix_user_roles_audit_inverse ON user_roles_audit (role_id, created_on)"),
+                strategy.statements);
+        assertTrue(indexes().contains("ix_user_roles_audit_inverse"));
+    }
+
+    private void createAuditTables(Set<AuditIndexType> indexTypes) {
+        new AuditTableCreator(scanner, strategy, jdbcTemplate, indexTypes, null, 4).createAuditTables();
+    }
+
+    private Set<String> columns() {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT LOWER(COLUMN_NAME) FROM INFORMATION_SCHEMA.COLUMNS"
+                + " WHERE LOWER(TABLE_NAME) = 'user_roles_audit'", String.class));
+    }
+
+    private Set<String> indexes() {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES"
+                + " WHERE LOWER(TABLE_NAME) = 'user_roles_audit' AND LOWER(INDEX_NAME) LIKE 'ix_%'", String.class));
+    }
+
+    /**
+     * Records the DDL statements it generates and the catalog queries it is asked for.
+     */
+    private static class RecordingStrategy extends H2DdlGenerationStrategy {
+
+        private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+        private int catalogQueries;
+
+        @Override
+        public String fetchAuditColumnsQuery(int tableCount) {
+            catalogQueries++;
+            return super.fetchAuditColumnsQuery(tableCount);
+        }
+
+        @Override
+        public String generateCreateTableQuery(AuditManyToManyAssociationMetadata metadata) {
+            String query = super.generateCreateTableQuery(metadata);
+            statements.add(query.strip());
+            return query;
+        }
+
+        @Override
+        public List<String> generateAlterTableQueries(String tableName, List<AuditJoinColumn> columns) {
+            List<String> queries = super.generateAlterTableQueries(tableName, columns);
+            statements.addAll(queries);
+            return queries;
+        }
+
+        @Override
+        public String generateCreateIndexQuery(String tableName, AuditTableIndex index) {
+            String query = super.generateCreateIndexQuery(tableName, index);
+            statements.add(query);
+            return query;
+        }
+    }
+}
\ No newline at end of file
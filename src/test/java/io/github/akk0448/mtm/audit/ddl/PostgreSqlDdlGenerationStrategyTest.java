@@ -0,0 +1,114 @@
+package io.github.akk0448.mtm.audit.ddl;
+
+import io.github.akk0448.mtm.audit.enums.AuditIndexType;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metadata.AuditTableIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the generated statements against H2 in PostgreSQL compatibility mode, which folds
+ * unquoted identifiers to lower case like PostgreSQL does.
+ */
+class PostgreSqlDdlGenerationStrategyTest {
+
+    private static final AuditManyToManyAssociationMetadata METADATA = new AuditManyToManyAssociationMetadata(
+            "User_Roles_Audit",
+            new AuditJoinColumn[]{new AuditJoinColumn("User_Id", "User_id", Long.class)},
+            new AuditJoinColumn[]{new AuditJoinColumn("role_id", "roles_id", UUID.class)});
+
+    private final PostgreSqlDdlGenerationStrategy strategy = new PostgreSqlDdlGenerationStrategy();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"));
+        jdbcTemplate.execute(strategy.generateCreateTableQuery(METADATA));
+    }
+
+    @Test
+    void createsTheTableOnceWithLowerCaseNames() {
+        assertEquals(List.of("id", "user_id", "role_id", "action", "created_by", "created_on", "updated_by",
+                "updated_on"), columns());
+
+        jdbcTemplate.execute(strategy.generateCreateTableQuery(METADATA));
+    }
+
+    @Test
+    void readsTheColumnsOfEveryAuditTableInOneQuery() {
+        jdbcTemplate.execute("CREATE TABLE other_audit (id BIGINT)");
+
+        List<String> tables = jdbcTemplate.query(strategy.fetchAuditColumnsQuery(2),
+                (rs, rowNum) -> rs.getString(1) + "." + rs.getString(2), "user_roles_audit", "other_audit");
+
+        assertEquals(9, tables.size());
+        assertTrue(tables.containsAll(List.of("user_roles_audit.role_id", "other_audit.id")));
+    }
+
+    @Test
+    @SuppressWarnings("removal")
+    void keepsTheDeprecatedPerTableQueries() {
+        assertEquals(1, jdbcTemplate.queryForObject(strategy.generateTableExistsQuery("User_Roles_Audit"),
+                Integer.class, "User_Roles_Audit"));
+        assertEquals(columns(), jdbcTemplate.queryForList(strategy.fetchColumnNameQuery("User_Roles_Audit"),
+                String.class, "User_Roles_Audit"));
+    }
+
+    /**
+     * H2 does not accept several ADD COLUMN clauses in one statement, so only the text of
+     * the merged statement is checked.
+     */
+    @Test
+    void addsMissingColumnsInOneStatement() {
+        assertEquals(List.of("ALTER TABLE user_roles_audit ADD COLUMN tenant_id INTEGER NOT NULL,"
+                        + " ADD COLUMN region VARCHAR(255) NOT NULL"),
+                strategy.generateAlterTableQueries("User_Roles_Audit", List.of(
+                        new AuditJoinColumn("Tenant_Id", "tenant_id", Integer.class),
+                        new AuditJoinColumn("region", "region", String.class))));
+
+        jdbcTemplate.execute(strategy.generateAlterTableQuery("User_Roles_Audit",
+                new AuditJoinColumn("Shard", "shard", Short.class)));
+
+        assertTrue(columns().contains("shard"));
+    }
+
+    @Test
+    void createsIndexesOnce() {
+        String query = strategy.generateCreateIndexQuery("User_Roles_Audit",
+                AuditTableIndex.of(METADATA, AuditIndexType.JOIN_COLUMNS));
+
+        jdbcTemplate.execute(query);
+        jdbcTemplate.execute(query);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.indexes"
+                + " WHERE table_name = 'user_roles_audit' AND index_name LIKE 'ix_%'", Integer.class));
+    }
+
+    @Test
+    void insertsSeveralRowsInOneStatement() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        UUID roleId = UUID.randomUUID();
+
+        jdbcTemplate.update(strategy.generateMultiRowInsertQuery(METADATA, 2),
+                1L, roleId, "INSERT", "alice", now, null, null,
+                2L, roleId, "INSERT", "alice", now, null, null);
+
+        assertEquals(List.of(1L, 2L), jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_roles_audit ORDER BY user_id", Long.class));
+    }
+
+    private List<String> columns() {
+        return jdbcTemplate.queryForList("SELECT column_name FROM information_schema.columns"
+                + " WHERE table_name = 'user_roles_audit' ORDER BY ordinal_position", String.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package io.github.akk0448.mtm.audit.fixture;
+
+import io.github.akk0448.mtm.audit.annotations.AuditManyToManyAssociation;
+import org.hibernate.envers.Audited;
+
+import javax.persistence.*;
+import java.util.HashSet;
+import java.util.Set;
+
+@Entity
+@Audited
+@AuditManyToManyAssociation
+public class Article {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+
+    @ManyToMany
+    @JoinTable(name = "article_editors",
+            joinColumns = @JoinColumn(name = "article_id"),
+            inverseJoinColumns = @JoinColumn(name = "editor_id"))
+    private Set<User> editors = new HashSet<>();
+
+    protected Article() {
+    }
+
+    public Article(String title) {
+        this.title = title;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Set<User> getEditors() {
+        return editors;
+    }
+}
\ No newline at end of file
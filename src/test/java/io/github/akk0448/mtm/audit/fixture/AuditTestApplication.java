@@ -0,0 +1,11 @@
+package io.github.akk0448.mtm.audit.fixture;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Application the integration tests start, with the audited entities of this package
+ * on an embedded H2 database.
+ */
+@SpringBootApplication
+public class AuditTestApplication {
+}
\ No newline at end of file
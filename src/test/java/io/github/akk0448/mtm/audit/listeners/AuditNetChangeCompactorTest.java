@@ -0,0 +1,98 @@
+package io.github.akk0448.mtm.audit.listeners;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.github.akk0448.mtm.audit.enums.AuditAction.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditNetChangeCompactorTest {
+
+    private static final AuditManyToManyAssociationMetadata USER_ROLES = metadata("user_roles_audit");
+    private static final AuditManyToManyAssociationMetadata USER_TAGS = metadata("user_tags_audit");
+
+    @Test
+    void cancelsDeleteAndReinsertOfTheSameRow() {
+        List<ManyToManyAuditRecord> records = List.of(
+                record(USER_ROLES, DELETE, 1L, 2L),
+                record(USER_ROLES, DELETE, 1L, 3L),
+                record(USER_ROLES, INSERT, 1L, 2L),
+                record(USER_ROLES, INSERT, 1L, 4L));
+
+        assertEquals(List.of(records.get(1), records.get(3)), AuditNetChangeCompactor.compact(records));
+    }
+
+    @Test
+    void cancelsInsertFollowedByDelete() {
+        List<ManyToManyAuditRecord> records = List.of(
+                record(USER_ROLES, INSERT, 1L, 2L),
+                record(USER_ROLES, DELETE, 1L, 2L));
+
+        assertTrue(AuditNetChangeCompactor.compact(records).isEmpty());
+    }
+
+    @Test
+    void keepsTheNetChangeOfRepeatedToggles() {
+        List<ManyToManyAuditRecord> records = List.of(
+                record(USER_ROLES, INSERT, 1L, 2L),
+                record(USER_ROLES, DELETE, 1L, 2L),
+                record(USER_ROLES, INSERT, 1L, 2L));
+
+        assertEquals(List.of(records.get(2)), AuditNetChangeCompactor.compact(records));
+    }
+
+    @Test
+    void doesNotCancelRecordsOfOtherTablesOrKeys() {
+        List<ManyToManyAuditRecord> records = List.of(
+                record(USER_ROLES, DELETE, 1L, 2L),
+                record(USER_TAGS, INSERT, 1L, 2L),
+                record(USER_ROLES, INSERT, 2L, 1L),
+                record(USER_ROLES, INSERT, 1L, 3L));
+
+        assertEquals(records, AuditNetChangeCompactor.compact(records));
+    }
+
+    @Test
+    void doesNotCancelRecordsOfTheSameAction() {
+        List<ManyToManyAuditRecord> records = List.of(
+                record(USER_ROLES, INSERT, 1L, 2L),
+                record(USER_ROLES, INSERT, 1L, 2L),
+                record(USER_ROLES, DELETE, 1L, 2L));
+
+        assertEquals(List.of(records.get(0)), AuditNetChangeCompactor.compact(records));
+    }
+
+    @Test
+    void keepsUpdateRecords() {
+        List<ManyToManyAuditRecord> records = List.of(
+                record(USER_ROLES, INSERT, 1L, 2L),
+                record(USER_ROLES, UPDATE, 1L, 2L),
+                record(USER_ROLES, DELETE, 1L, 2L));
+
+        assertEquals(List.of(records.get(1)), AuditNetChangeCompactor.compact(records));
+    }
+
+    @Test
+    void returnsTheSameListWhenNothingCancels() {
+        List<ManyToManyAuditRecord> records = List.of(record(USER_ROLES, INSERT, 1L, 2L));
+
+        assertSame(records, AuditNetChangeCompactor.compact(records));
+        assertTrue(AuditNetChangeCompactor.compact(List.of()).isEmpty());
+    }
+
+    private static ManyToManyAuditRecord record(AuditManyToManyAssociationMetadata metadata, AuditAction action,
+                                                Object... keyValues) {
+        return new ManyToManyAuditRecord(metadata, action, keyValues, 1_700_000_000_000L, "alice");
+    }
+
+    private static AuditManyToManyAssociationMetadata metadata(String tableName) {
+        return new AuditManyToManyAssociationMetadata(tableName,
+                new AuditJoinColumn[]{new AuditJoinColumn("user_id", "User_id", Long.class)},
+                new AuditJoinColumn[]{new AuditJoinColumn("role_id", "roles_id", Long.class)});
+    }
+}
\ No newline at end of file
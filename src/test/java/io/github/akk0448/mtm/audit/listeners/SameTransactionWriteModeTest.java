@@ -0,0 +1,104 @@
+package io.github.akk0448.mtm.audit.listeners;
+
+import io.github.akk0448.mtm.audit.fixture.AuditTestApplication;
+import io.github.akk0448.mtm.audit.fixture.Role;
+import io.github.akk0448.mtm.audit.fixture.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AuditTestApplication.class, properties = "mtm.audit.write-mode=same-transaction")
+class SameTransactionWriteModeTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writesAuditRowsWithTheTransaction() {
+        Long userId = transactionTemplate.execute(status -> {
+            User user = userWithRoles("alice", 2);
+            entityManager.flush();
+            assertEquals(0, auditRows(user.getId(), "INSERT"));
+            return user.getId();
+        });
+
+        assertEquals(2, auditRows(userId, "INSERT"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = entityManager.find(User.class, userId);
+            user.getRoles().remove(user.getRoles().iterator().next());
+        });
+
+        assertEquals(1, auditRows(userId, "DELETE"));
+    }
+
+    @Test
+    void writesChangesOfEveryFlushInOnePassAtCommit() {
+        Long userId = transactionTemplate.execute(status -> {
+            User user = userWithRoles("bob", 1);
+            entityManager.flush();
+            Role role = new Role("auditor");
+            entityManager.persist(role);
+            user.getRoles().add(role);
+            entityManager.flush();
+            assertEquals(0, auditRows(user.getId(), "INSERT"));
+            return user.getId();
+        });
+
+        assertEquals(2, auditRows(userId, "INSERT"));
+    }
+
+    @Test
+    void rollsBackTheTransactionWhenTheAuditWriteFails() {
+        long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        jdbcTemplate.execute("ALTER TABLE user_roles_audit RENAME TO user_roles_audit_off");
+        try {
+            assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(
+                    status -> userWithRoles("carol", 1)));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE user_roles_audit_off RENAME TO user_roles_audit");
+        }
+
+        assertEquals(users, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class));
+    }
+
+    @Test
+    void writesNothingForARolledBackTransaction() {
+        Long userId = transactionTemplate.execute(status -> {
+            User user = userWithRoles("dave", 2);
+            entityManager.flush();
+            status.setRollbackOnly();
+            return user.getId();
+        });
+
+        assertEquals(0, auditRows(userId, "INSERT"));
+    }
+
+    private User userWithRoles(String username, int roles) {
+        User user = new User(username);
+        for (int i = 0; i < roles; i++) {
+            Role role = new Role(username + "-" + i);
+            entityManager.persist(role);
+            user.getRoles().add(role);
+        }
+        entityManager.persist(user);
+        return user;
+    }
+
+    private int auditRows(Long userId, String action) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_roles_audit WHERE user_id = ? AND action = ?",
+                Integer.class, userId, action);
+    }
+}
\ No newline at end of file
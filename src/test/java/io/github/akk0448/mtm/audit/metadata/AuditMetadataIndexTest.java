@@ -0,0 +1,104 @@
+package io.github.akk0448.mtm.audit.metadata;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedAssociation;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedColumn;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditMetadataIndexTest {
+
+    private static final IndexedAssociation ROLES = new IndexedAssociation("roles", "user_roles",
+            EnumSet.of(AuditAction.INSERT, AuditAction.DELETE),
+            new IndexedColumn[]{new IndexedColumn("user_id", "User_id", "java.lang.Long")},
+            new IndexedColumn[]{new IndexedColumn("role_id", "roles_id", "java.lang.Long")});
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsTheAssociationsItWrites() throws IOException {
+        writeIndex("a", index(Map.of("com.example.User", List.of(ROLES), "com.example.Group", List.of())));
+
+        AuditMetadataIndex index = load("a");
+
+        IndexedAssociation loaded = index.getAssociations("com.example.User").get(0);
+        assertEquals("roles", loaded.fieldName());
+        assertEquals("user_roles", loaded.tableName());
+        assertEquals(EnumSet.of(AuditAction.INSERT, AuditAction.DELETE), loaded.actions());
+        assertArrayEquals(ROLES.joinColumns(), loaded.joinColumns());
+        assertArrayEquals(ROLES.inverseJoinColumns(), loaded.inverseJoinColumns());
+        assertEquals(List.of(), index.getAssociations("com.example.Group"));
+        assertNull(index.getAssociations("com.example.Role"));
+    }
+
+    @Test
+    void mergesTheIndexFilesOfSeveralClassPathEntries() throws IOException {
+        writeIndex("a", index(Map.of("com.example.User", List.of(ROLES))));
+        writeIndex("b", index(Map.of("com.example.Group", List.of())));
+
+        AuditMetadataIndex index = load("a", "b");
+
+        assertNotNull(index.getAssociations("com.example.User"));
+        assertNotNull(index.getAssociations("com.example.Group"));
+    }
+
+    @Test
+    void ignoresIndexFilesOfAnotherFormatVersion() throws IOException {
+        writeIndex("a", index(Map.of("com.example.User", List.of(ROLES)))
+                .replace("format-version=" + AuditMetadataIndex.FORMAT_VERSION, "format-version=1"));
+
+        assertTrue(load("a").isEmpty());
+    }
+
+    @Test
+    void rejectsIncompleteEntries() throws IOException {
+        writeIndex("a", index(Map.of("com.example.User", List.of(ROLES)))
+                .replace("com.example.User.roles.table=user_roles\n", ""));
+
+        assertThrows(InvalidObjectException.class, () -> load("a"));
+    }
+
+    @Test
+    void rejectsUnknownActions() throws IOException {
+        writeIndex("a", index(Map.of("com.example.User", List.of(ROLES)))
+                .replace("actions=INSERT,DELETE", "actions=INSERT,UPSERT"));
+
+        assertThrows(InvalidObjectException.class, () -> load("a"));
+    }
+
+    private static String index(Map<String, List<IndexedAssociation>> associations) throws IOException {
+        StringWriter out = new StringWriter();
+        AuditMetadataIndex.write(associations, out);
+        return out.toString();
+    }
+
+    private void writeIndex(String root, String content) throws IOException {
+        Path file = directory.resolve(root).resolve(AuditMetadataIndex.LOCATION);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private AuditMetadataIndex load(String... roots) throws IOException {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = directory.resolve(roots[i]).toUri().toURL();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(urls, null)) {
+            return AuditMetadataIndex.load(classLoader);
+        }
+    }
+}
\ No newline at end of file
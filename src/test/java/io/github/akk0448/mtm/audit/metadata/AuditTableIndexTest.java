@@ -0,0 +1,43 @@
+package io.github.akk0448.mtm.audit.metadata;
+
+import io.github.akk0448.mtm.audit.enums.AuditIndexType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditTableIndexTest {
+
+    private static final AuditManyToManyAssociationMetadata METADATA = new AuditManyToManyAssociationMetadata(
+            "user_roles_audit",
+            new AuditJoinColumn[]{new AuditJoinColumn("tenant_id", "User_tenantId", Long.class),
+                    new AuditJoinColumn("user_id", "User_id", Long.class)},
+            new AuditJoinColumn[]{new AuditJoinColumn("role_id", "roles_id", Long.class)});
+
+    @Test
+    void indexesEachSideByItsKeyAndCreationTime() {
+        assertEquals(new AuditTableIndex("ix_user_roles_audit_join", List.of("tenant_id", "user_id", "created_on")),
+                AuditTableIndex.of(METADATA, AuditIndexType.JOIN_COLUMNS));
+        assertEquals(new AuditTableIndex("ix_user_roles_audit_inverse", List.of("role_id", "created_on")),
+                AuditTableIndex.of(METADATA, AuditIndexType.INVERSE_JOIN_COLUMNS));
+        assertEquals(new AuditTableIndex("ix_user_roles_audit_created_on", List.of("created_on")),
+                AuditTableIndex.of(METADATA, AuditIndexType.CREATED_ON));
+    }
+
+    @Test
+    void shortensLongNamesKeepingThemDistinct() {
+        String tableName = "organization_membership_role_assignments_history_audit";
+        AuditManyToManyAssociationMetadata metadata = new AuditManyToManyAssociationMetadata(tableName,
+                METADATA.joinColumns(), METADATA.inverseJoinColumns());
+        AuditManyToManyAssociationMetadata similar = new AuditManyToManyAssociationMetadata(tableName + "_v2",
+                METADATA.joinColumns(), METADATA.inverseJoinColumns());
+
+        String name = AuditTableIndex.of(metadata, AuditIndexType.INVERSE_JOIN_COLUMNS).name();
+
+        assertTrue(name.length() <= 60, name);
+        assertTrue(name.startsWith("ix_organization_"), name);
+        assertTrue(name.endsWith("_inverse"), name);
+        assertNotEquals(name, AuditTableIndex.of(similar, AuditIndexType.INVERSE_JOIN_COLUMNS).name());
+    }
+}
\ No newline at end of file
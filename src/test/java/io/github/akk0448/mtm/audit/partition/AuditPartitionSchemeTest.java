@@ -0,0 +1,89 @@
+package io.github.akk0448.mtm.audit.partition;
+
+import io.github.akk0448.mtm.audit.enums.AuditPartitionInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPartitionSchemeTest {
+
+    @Test
+    void monthlyPartitionsStartOnTheFirstOfTheMonthAndCrossTheYear() {
+        AuditPartitionScheme scheme = new AuditPartitionScheme(AuditPartitionInterval.MONTH, 2, null);
+
+        assertEquals(List.of(
+                partition("p20241101", 2024, 11, 1, 2024, 12, 1),
+                partition("p20241201", 2024, 12, 1, 2025, 1, 1),
+                partition("p20250101", 2025, 1, 1, 2025, 2, 1)
+        ), scheme.requiredPartitions(LocalDate.of(2024, 11, 30)));
+    }
+
+    @Test
+    void dailyPartitionsCoverOneDayAcrossALeapDay() {
+        AuditPartitionScheme scheme = new AuditPartitionScheme(AuditPartitionInterval.DAY, 1, null);
+
+        assertEquals(List.of(
+                partition("p20240229", 2024, 2, 29, 2024, 3, 1),
+                partition("p20240301", 2024, 3, 1, 2024, 3, 2)
+        ), scheme.requiredPartitions(LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void withoutPrecreationOnlyTheCurrentPartitionIsRequired() {
+        AuditPartitionScheme scheme = new AuditPartitionScheme(AuditPartitionInterval.MONTH, 0, null);
+
+        assertEquals(List.of(partition("p20240101", 2024, 1, 1, 2024, 2, 1)),
+                scheme.requiredPartitions(LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void parsesNamesItCreates() {
+        AuditPartitionScheme scheme = new AuditPartitionScheme(AuditPartitionInterval.MONTH, 3, null);
+
+        for (AuditPartition partition : scheme.requiredPartitions(LocalDate.of(2024, 12, 15))) {
+            assertEquals(partition, scheme.parse(partition.name()));
+        }
+        assertEquals(partition("p20240301", 2024, 3, 1, 2024, 4, 1), scheme.parse("P20240301"));
+    }
+
+    @Test
+    void ignoresNamesItDoesNotCreate() {
+        AuditPartitionScheme scheme = new AuditPartitionScheme(AuditPartitionInterval.DAY, 0, null);
+
+        assertNull(scheme.parse(null));
+        assertNull(scheme.parse("p_default"));
+        assertNull(scheme.parse("p2024030"));
+        assertNull(scheme.parse("p202403011"));
+        assertNull(scheme.parse("q20240301"));
+        assertNull(scheme.parse("p2024o301"));
+        assertNull(scheme.parse("p20241301"));
+        assertNull(scheme.parse("p20240231"));
+        assertNull(scheme.parse("p20230229"));
+    }
+
+    @Test
+    void expiresPartitionsOnlyOnceTheirLastDayIsOutOfRetention() {
+        AuditPartitionScheme scheme = new AuditPartitionScheme(AuditPartitionInterval.MONTH, 0, Period.ofMonths(6));
+        AuditPartition january = scheme.parse("p20240101");
+
+        assertFalse(scheme.isExpired(january, LocalDate.of(2024, 7, 31)));
+        assertTrue(scheme.isExpired(january, LocalDate.of(2024, 8, 1)));
+        assertTrue(scheme.isExpired(january, LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void neverExpiresWithoutRetention() {
+        AuditPartitionScheme scheme = new AuditPartitionScheme(AuditPartitionInterval.DAY, 0, null);
+
+        assertFalse(scheme.isExpired(scheme.parse("p20000101"), LocalDate.of(2024, 1, 1)));
+    }
+
+    private static AuditPartition partition(String name, int fromYear, int fromMonth, int fromDay,
+                                            int toYear, int toMonth, int toDay) {
+        return new AuditPartition(name, LocalDate.of(fromYear, fromMonth, fromDay), LocalDate.of(toYear, toMonth, toDay));
+    }
+}
\ No newline at end of file
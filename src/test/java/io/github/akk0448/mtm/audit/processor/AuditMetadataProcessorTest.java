@@ -0,0 +1,166 @@
+package io.github.akk0448.mtm.audit.processor;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedAssociation;
+import io.github.akk0448.mtm.audit.metadata.AuditMetadataIndex.IndexedColumn;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditMetadataProcessorTest {
+
+    private static final String ROLE = """
+            package com.example;
+            @javax.persistence.Entity
+            public class Role {
+                @javax.persistence.Id
+                private Long id;
+                @javax.persistence.Column(name = "role_code")
+                private String code;
+            }
+            """;
+
+    @TempDir
+    Path output;
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    @Test
+    void indexesTheJoinColumnsOfAuditedAssociations() throws IOException {
+        AuditMetadataIndex index = compile(ROLE, """
+                package com.example;
+                import javax.persistence.*;
+                @Entity
+                @io.github.akk0448.mtm.audit.annotations.AuditManyToManyAssociation
+                public class User {
+                    @Id
+                    private long id;
+                    @ManyToMany
+                    @JoinTable(name = "user_roles",
+                            joinColumns = @JoinColumn(name = "user_id"),
+                            inverseJoinColumns = @JoinColumn(name = "role_code", referencedColumnName = "role_code"))
+                    private java.util.Set<Role> roles;
+                }
+                """);
+
+        List<IndexedAssociation> associations = index.getAssociations("com.example.User");
+        assertEquals(1, associations.size());
+        IndexedAssociation roles = associations.get(0);
+        assertEquals("roles", roles.fieldName());
+        assertEquals("user_roles", roles.tableName());
+        assertEquals(EnumSet.allOf(AuditAction.class), roles.actions());
+        assertArrayEquals(new IndexedColumn[]{new IndexedColumn("user_id", "User_id", "long")}, roles.joinColumns());
+        assertArrayEquals(new IndexedColumn[]{new IndexedColumn("role_code", "roles_code", "java.lang.String")},
+                roles.inverseJoinColumns());
+        assertNull(index.getAssociations("com.example.Role"));
+    }
+
+    @Test
+    void indexesOnlyAnnotatedFieldsWithTheirActions() throws IOException {
+        AuditMetadataIndex index = compile(ROLE, """
+                package com.example;
+                import io.github.akk0448.mtm.audit.annotations.AuditManyToManyAssociation;
+                import io.github.akk0448.mtm.audit.enums.AuditAction;
+                import javax.persistence.*;
+                @Entity
+                @AuditManyToManyAssociation
+                public class Article {
+                    @Id
+                    private Long id;
+                    @ManyToMany
+                    @JoinTable(name = "article_editors", joinColumns = @JoinColumn(name = "article_id"),
+                            inverseJoinColumns = @JoinColumn(name = "role_id"))
+                    @AuditManyToManyAssociation(actions = AuditAction.INSERT)
+                    private java.util.Set<Role> editors;
+                    @ManyToMany
+                    @JoinTable(name = "article_tags", joinColumns = @JoinColumn(name = "article_id"),
+                            inverseJoinColumns = @JoinColumn(name = "role_id"))
+                    private java.util.Set<Role> tags;
+                    @ManyToMany
+                    @JoinTable(name = "article_readers", joinColumns = @JoinColumn(name = "article_id"),
+                            inverseJoinColumns = @JoinColumn(name = "role_id"))
+                    @AuditManyToManyAssociation(actions = {})
+                    private java.util.Set<Role> readers;
+                }
+                """);
+
+        List<IndexedAssociation> associations = index.getAssociations("com.example.Article");
+        assertEquals(1, associations.size());
+        assertEquals("editors", associations.get(0).fieldName());
+        assertEquals(EnumSet.of(AuditAction.INSERT), associations.get(0).actions());
+    }
+
+    @Test
+    void leavesEntitiesWithUnresolvableColumnsToTheRuntimeScan() throws IOException {
+        AuditMetadataIndex index = compile(ROLE, """
+                package com.example;
+                import javax.persistence.*;
+                @Entity
+                @io.github.akk0448.mtm.audit.annotations.AuditManyToManyAssociation
+                public class User {
+                    @Id
+                    private Long id;
+                    @ManyToMany
+                    @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"),
+                            inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "missing"))
+                    private java.util.Set<Role> roles;
+                }
+                """);
+
+        assertTrue(index.isEmpty());
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING
+                        && diagnostic.getMessage(null).contains("referencedColumnName=missing")));
+    }
+
+    /**
+     * Compiles the given sources with the processor and loads the index it generates.
+     */
+    private AuditMetadataIndex compile(String... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<JavaFileObject> units = new ArrayList<>();
+        for (String source : sources) {
+            String className = source.substring(source.indexOf("public class ") + 13, source.indexOf(" {"));
+            units.add(new SourceFile(className, source));
+        }
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = List.of("-proc:only", "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+            task.setProcessors(List.of(new AuditMetadataProcessor()));
+            assertTrue(task.call(), () -> diagnostics.getDiagnostics().toString());
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, null)) {
+            return AuditMetadataIndex.load(classLoader);
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(URI.create("string:///com/example/" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
\ No newline at end of file
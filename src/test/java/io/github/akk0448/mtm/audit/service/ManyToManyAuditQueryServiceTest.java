@@ -0,0 +1,147 @@
+package io.github.akk0448.mtm.audit.service;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.enums.AuditAssociationSide;
+import io.github.akk0448.mtm.audit.fixture.AuditTestApplication;
+import io.github.akk0448.mtm.audit.query.AuditHistoryCursor;
+import io.github.akk0448.mtm.audit.query.AuditHistoryEntry;
+import io.github.akk0448.mtm.audit.query.AuditHistoryPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AuditTestApplication.class)
+class ManyToManyAuditQueryServiceTest {
+
+    private static final String TABLE = "user_roles_audit";
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private ManyToManyAuditQueryService queryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private final List<Long> history = new ArrayList<>();
+
+    /**
+     * Writes seven rows for one user, created in pairs at the same time and inserted out
+     * of creation order, among rows of another user.
+     */
+    @BeforeEach
+    void writeHistory() {
+        userId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 10 FROM " + TABLE, Long.class);
+        long[] minutes = {3, 0, 1, 0, 2, 1, 2};
+        List<long[]> rows = new ArrayList<>();
+        for (int i = 0; i < minutes.length; i++) {
+            insert(userId + 1, 100 + i, START);
+            rows.add(new long[]{minutes[i], insert(userId, 100 + i, START.plusMinutes(minutes[i]))});
+        }
+        rows.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        rows.forEach(row -> history.add(row[1]));
+    }
+
+    @Test
+    void pagesThroughTheHistoryInCreationOrder() {
+        List<Long> ids = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        AuditHistoryCursor cursor = null;
+        do {
+            AuditHistoryPage page = queryService.findHistory(TABLE, AuditAssociationSide.OWNING,
+                    new Object[]{userId}, cursor, 3);
+            page.entries().forEach(entry -> ids.add(entry.id()));
+            pageSizes.add(page.entries().size());
+            cursor = page.next();
+        } while (cursor != null);
+
+        assertEquals(history, ids);
+        assertEquals(List.of(3, 3, 1), pageSizes);
+    }
+
+    @Test
+    void endsOnAFullLastPage() {
+        AuditHistoryPage first = queryService.findHistory(TABLE, AuditAssociationSide.OWNING,
+                new Object[]{userId}, null, 4);
+        AuditHistoryPage last = queryService.findHistory(TABLE, AuditAssociationSide.OWNING,
+                new Object[]{userId}, first.next(), 3);
+
+        assertTrue(first.hasNext());
+        assertEquals(3, last.entries().size());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void resumesBetweenRowsCreatedAtTheSameTime() {
+        AuditHistoryPage first = queryService.findHistory(TABLE, AuditAssociationSide.OWNING,
+                new Object[]{userId}, null, 1);
+        AuditHistoryPage second = queryService.findHistory(TABLE, AuditAssociationSide.OWNING,
+                new Object[]{userId}, first.next(), 1);
+
+        assertEquals(first.entries().get(0).event().createdOn(), second.entries().get(0).event().createdOn());
+        assertEquals(history.subList(0, 2), List.of(first.entries().get(0).id(), second.entries().get(0).id()));
+    }
+
+    @Test
+    void mapsRowsToAuditEvents() {
+        AuditHistoryEntry entry = queryService.findHistory(TABLE, AuditAssociationSide.OWNING,
+                new Object[]{userId}, null, 1).entries().get(0);
+
+        assertEquals(TABLE, entry.event().tableName());
+        assertEquals(AuditAction.INSERT, entry.event().action());
+        assertEquals("alice", entry.event().createdBy());
+        assertEquals(START, entry.event().createdOn());
+        assertEquals(userId, entry.event().joinColumns()[0].columnValue());
+        assertEquals(101L, entry.event().inverseJoinColumns()[0].columnValue());
+    }
+
+    @Test
+    void filtersByTheInverseSide() {
+        List<AuditHistoryEntry> entries = queryService.findHistory(TABLE, AuditAssociationSide.INVERSE,
+                new Object[]{100L}, null, 100).entries();
+
+        assertEquals(List.of(userId + 1, userId), entries.stream()
+                .map(entry -> (Long) entry.event().joinColumns()[0].columnValue())
+                .filter(user -> user >= userId)
+                .toList());
+    }
+
+    @Test
+    void streamsTheHistoryFromACursor() {
+        AuditHistoryEntry second = queryService.findHistory(TABLE, AuditAssociationSide.OWNING,
+                new Object[]{userId}, null, 2).entries().get(1);
+
+        try (Stream<AuditHistoryEntry> all = queryService.streamHistory(TABLE, AuditAssociationSide.OWNING,
+                new Object[]{userId}, null, 2);
+             Stream<AuditHistoryEntry> rest = queryService.streamHistory(TABLE, AuditAssociationSide.OWNING,
+                     new Object[]{userId}, second.cursor(), 2)) {
+            assertEquals(history, all.map(AuditHistoryEntry::id).toList());
+            assertEquals(history.subList(2, history.size()), rest.map(AuditHistoryEntry::id).toList());
+        }
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> queryService.findHistory("unknown_audit",
+                AuditAssociationSide.OWNING, new Object[]{userId}, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> queryService.findHistory(TABLE,
+                AuditAssociationSide.OWNING, new Object[]{userId, 1L}, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> queryService.findHistory(TABLE,
+                AuditAssociationSide.OWNING, new Object[]{userId}, null, 0));
+    }
+
+    private long insert(long userId, long roleId, LocalDateTime createdOn) {
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (user_id, role_id, action, created_by, created_on)"
+                + " VALUES (?, ?, 'INSERT', 'alice', ?)", userId, roleId, createdOn);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + TABLE, Long.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package io.github.akk0448.mtm.audit.service;
+
+import io.github.akk0448.mtm.audit.ddl.H2DdlGenerationStrategy;
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManyToManyAuditServiceTest {
+
+    private static final AuditManyToManyAssociationMetadata METADATA = new AuditManyToManyAssociationMetadata(
+            "user_roles_audit",
+            new AuditJoinColumn[]{new AuditJoinColumn("user_id", "User_id", Long.class)},
+            new AuditJoinColumn[]{new AuditJoinColumn("role_id", "roles_id", Long.class)});
+
+    /** One join column, one inverse join column and five audit columns. */
+    private static final int BINDS_PER_ROW = 7;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void createAuditTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute(new H2DdlGenerationStrategy().generateCreateTableQuery(METADATA));
+    }
+
+    @Test
+    void splitsRecordsIntoFullStatementsAndARemainderWithinTheBindLimit() {
+        RecordingStrategy strategy = new RecordingStrategy(2 * BINDS_PER_ROW + BINDS_PER_ROW - 1);
+
+        service(strategy, 100).persistAuditEntities(records(5));
+
+        assertEquals(List.of(2, 1), strategy.rowCounts);
+        assertWritten(5);
+    }
+
+    @Test
+    void writesOnlyFullStatementsForAnExactMultiple() {
+        RecordingStrategy strategy = new RecordingStrategy(2 * BINDS_PER_ROW);
+
+        service(strategy, 100).persistAuditEntities(records(6));
+
+        assertEquals(List.of(2), strategy.rowCounts);
+        assertWritten(6);
+    }
+
+    @Test
+    void capsRowsPerStatementAtTheBatchSize() {
+        RecordingStrategy strategy = new RecordingStrategy(65_535);
+
+        service(strategy, 3).persistAuditEntities(records(7));
+
+        assertEquals(List.of(3, 1), strategy.rowCounts);
+        assertWritten(7);
+    }
+
+    @Test
+    void writesOneRowPerStatementWhenARowExceedsTheBindLimit() {
+        RecordingStrategy strategy = new RecordingStrategy(BINDS_PER_ROW - 1);
+
+        service(strategy, 100).persistAuditEntities(records(3));
+
+        assertEquals(List.of(1), strategy.rowCounts);
+        assertWritten(3);
+    }
+
+    @Test
+    void reusesGeneratedStatementsAcrossWrites() {
+        RecordingStrategy strategy = new RecordingStrategy(2 * BINDS_PER_ROW);
+        ManyToManyAuditService service = service(strategy, 100);
+
+        service.persistAuditEntities(records(3));
+        service.persistAuditEntities(records(3));
+
+        assertEquals(List.of(2, 1), strategy.rowCounts);
+        assertEquals(6, count());
+    }
+
+    @Test
+    void writesSingleRowInsertsWhenMultiRowInsertIsDisabled() {
+        RecordingStrategy strategy = new RecordingStrategy(2 * BINDS_PER_ROW);
+
+        new ManyToManyAuditService(jdbcTemplate, transactionManager, strategy, 2, false).persistAuditEntities(records(5));
+
+        assertTrue(strategy.rowCounts.isEmpty());
+        assertWritten(5);
+    }
+
+    private ManyToManyAuditService service(RecordingStrategy strategy, int batchSize) {
+        return new ManyToManyAuditService(jdbcTemplate, transactionManager, strategy, batchSize, true);
+    }
+
+    private void assertWritten(int count) {
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, jdbcTemplate.queryForList("SELECT user_id FROM user_roles_audit ORDER BY id", Long.class));
+        assertEquals(count, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_roles_audit WHERE role_id = 100 AND action = 'INSERT' AND created_by = 'alice'"
+                        + " AND created_on IS NOT NULL", Integer.class));
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_roles_audit", Integer.class);
+    }
+
+    private static List<ManyToManyAuditRecord> records(int count) {
+        List<ManyToManyAuditRecord> records = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            records.add(new ManyToManyAuditRecord(METADATA, AuditAction.INSERT, new Object[]{i, 100L},
+                    1_700_000_000_000L, "alice"));
+        }
+        return records;
+    }
+
+    private static class RecordingStrategy extends H2DdlGenerationStrategy {
+
+        private final int maxBindParameters;
+        private final List<Integer> rowCounts = new ArrayList<>();
+
+        RecordingStrategy(int maxBindParameters) {
+            this.maxBindParameters = maxBindParameters;
+        }
+
+        @Override
+        public String generateMultiRowInsertQuery(AuditManyToManyAssociationMetadata metadata, int rowCount) {
+            rowCounts.add(rowCount);
+            return super.generateMultiRowInsertQuery(metadata, rowCount);
+        }
+
+        @Override
+        public int maxBindParameters() {
+            return maxBindParameters;
+        }
+    }
+}
\ No newline at end of file
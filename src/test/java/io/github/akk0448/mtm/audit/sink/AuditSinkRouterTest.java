@@ -0,0 +1,127 @@
+package io.github.akk0448.mtm.audit.sink;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSinkRouterTest {
+
+    private static final AuditManyToManyAssociationMetadata USER_ROLES = metadata("user_roles_audit");
+    private static final AuditManyToManyAssociationMetadata ARTICLE_EDITORS = metadata("article_editors_audit");
+    private static final AuditManyToManyAssociationMetadata GROUP_MEMBERS = metadata("group_members_audit");
+
+    private final RecordingSink database = new RecordingSink("database", true);
+    private final RecordingSink file = new RecordingSink("file", false);
+    private final RecordingSink queue = new RecordingSink("queue", false);
+
+    @Test
+    void routesRecordsToTheSinkOfTheirTable() {
+        AuditSinkRouter router = new AuditSinkRouter(List.of(database, file, queue), "database",
+                Map.of("USER_ROLES_AUDIT", "file", "article_editors_audit", "queue"));
+        ManyToManyAuditRecord first = record(USER_ROLES, 1);
+        ManyToManyAuditRecord second = record(ARTICLE_EDITORS, 2);
+        ManyToManyAuditRecord third = record(USER_ROLES, 3);
+        ManyToManyAuditRecord fourth = record(GROUP_MEMBERS, 4);
+
+        router.write(List.of(first, second, third, fourth));
+
+        assertEquals(List.of(List.of(first, third)), file.writes);
+        assertEquals(List.of(List.of(second)), queue.writes);
+        assertEquals(List.of(List.of(fourth)), database.writes);
+        assertSame(file, router.sinkFor(USER_ROLES));
+        assertSame(database, router.sinkFor(GROUP_MEMBERS));
+    }
+
+    @Test
+    void writesEverythingToTheDefaultSinkWithoutTableSinks() {
+        AuditSinkRouter router = new AuditSinkRouter(List.of(database, file), "file", Map.of());
+        List<ManyToManyAuditRecord> records = List.of(record(USER_ROLES, 1), record(ARTICLE_EDITORS, 2));
+
+        router.write(records);
+        router.write(List.of());
+
+        assertEquals(List.of(records), file.writes);
+        assertEquals(List.of(), database.writes);
+    }
+
+    @Test
+    void tellsWhetherATableIsWrittenWithinTheTransaction() {
+        AuditSinkRouter router = new AuditSinkRouter(List.of(database, file), "database",
+                Map.of("user_roles_audit", "file"));
+
+        assertFalse(router.isTransactional(USER_ROLES));
+        assertTrue(router.isTransactional(ARTICLE_EDITORS));
+    }
+
+    @Test
+    void attemptsEverySinkAndReportsTheFirstFailure() {
+        AuditSinkRouter router = new AuditSinkRouter(List.of(database, file, queue), "database",
+                Map.of("user_roles_audit", "file", "article_editors_audit", "queue"));
+        file.failure = new IllegalStateException("disk full");
+        queue.failure = new IllegalStateException("broker down");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> router.write(List.of(
+                record(USER_ROLES, 1), record(ARTICLE_EDITORS, 2), record(GROUP_MEMBERS, 3))));
+
+        assertSame(file.failure, failure);
+        assertArrayEquals(new Throwable[]{queue.failure}, failure.getSuppressed());
+        assertEquals(1, database.writes.size());
+    }
+
+    @Test
+    void rejectsUnknownAndDuplicateSinkNames() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditSinkRouter(List.of(database), "file", Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> new AuditSinkRouter(List.of(database), "database",
+                Map.of("user_roles_audit", "file")));
+        assertThrows(IllegalArgumentException.class, () -> new AuditSinkRouter(
+                List.of(database, new RecordingSink("database", false)), "database", Map.of()));
+    }
+
+    private static AuditManyToManyAssociationMetadata metadata(String tableName) {
+        return new AuditManyToManyAssociationMetadata(tableName,
+                new AuditJoinColumn[]{new AuditJoinColumn("owner_id", "owner_id", Long.class)},
+                new AuditJoinColumn[]{new AuditJoinColumn("member_id", "member_id", Long.class)});
+    }
+
+    private static ManyToManyAuditRecord record(AuditManyToManyAssociationMetadata metadata, long ownerId) {
+        return new ManyToManyAuditRecord(metadata, AuditAction.INSERT, new Object[]{ownerId, 100L},
+                1_700_000_000_000L, "alice");
+    }
+
+    private static class RecordingSink implements AuditSink {
+
+        private final String name;
+        private final boolean transactional;
+        private final List<List<ManyToManyAuditRecord>> writes = new ArrayList<>();
+        private RuntimeException failure;
+
+        RecordingSink(String name, boolean transactional) {
+            this.name = name;
+            this.transactional = transactional;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean transactional() {
+            return transactional;
+        }
+
+        @Override
+        public void write(List<ManyToManyAuditRecord> records) {
+            if (failure != null) throw failure;
+            writes.add(records);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package io.github.akk0448.mtm.audit.sink;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAuditSinkTest {
+
+    private static final AuditManyToManyAssociationMetadata METADATA = new AuditManyToManyAssociationMetadata(
+            "user_roles_audit",
+            new AuditJoinColumn[]{new AuditJoinColumn("user_id", "User_id", Long.class)},
+            new AuditJoinColumn[]{new AuditJoinColumn("role_code", "roles_code", String.class)});
+
+    private static final String LINE = "{\"table\":\"user_roles_audit\",\"action\":\"INSERT\",\"user_id\":1,"
+            + "\"role_code\":\"admin\",\"created_by\":\"alice\",\"created_on\":\"2023-11-14T22:13:20\"}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesOneJsonLinePerRecord() throws Exception {
+        FileAuditSink sink = new FileAuditSink(directory, 1024 * 1024);
+        sink.write(List.of(record(1, "alice"), record(2, "bob \"the\" builder\n\u00fc")));
+        sink.destroy();
+
+        List<String> lines = Files.readAllLines(files().get(0));
+        assertEquals(LINE, lines.get(0));
+        assertTrue(lines.get(1).contains("\"user_id\":2,"));
+        assertTrue(lines.get(1).contains("\"created_by\":\"bob \\\"the\\\" builder\\n\u00fc\""));
+        assertEquals(2, lines.size());
+    }
+
+    @Test
+    void rotatesOnceTheActiveFileIsFull() throws Exception {
+        FileAuditSink sink = new FileAuditSink(directory, 2L * (LINE.length() + 1));
+        for (int i = 0; i < 3; i++) {
+            sink.write(List.of(record(1, "alice")));
+        }
+        sink.write(List.of(record(1, "alice"), record(1, "alice"), record(1, "alice")));
+        sink.destroy();
+
+        List<Path> files = files();
+        assertEquals(List.of(2, 1, 3), lines(files));
+        assertEquals("mtm-audit-00000000000000000000.ndjson", files.get(0).getFileName().toString());
+    }
+
+    @Test
+    void continuesAfterTheFilesOfAnEarlierRun() throws Exception {
+        FileAuditSink first = new FileAuditSink(directory, 1024 * 1024);
+        first.write(List.of(record(1, "alice")));
+        first.destroy();
+
+        FileAuditSink second = new FileAuditSink(directory, 1024 * 1024);
+        second.write(List.of(record(1, "alice"), record(1, "alice")));
+        second.destroy();
+
+        List<Path> files = files();
+        assertEquals(List.of(1, 2), lines(files));
+        assertEquals("mtm-audit-00000000000000000001.ndjson", files.get(1).getFileName().toString());
+    }
+
+    @Test
+    void keepsEveryLineOfConcurrentWriters() throws Exception {
+        FileAuditSink sink = new FileAuditSink(directory, 16 * 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                long userId = writer;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        sink.write(List.of(record(userId, "alice"), record(userId, "alice")));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        sink.destroy();
+
+        List<Path> files = files();
+        assertTrue(files.size() > 1);
+        Set<String> distinct = new HashSet<>();
+        int count = 0;
+        for (Path file : files) {
+            for (String line : Files.readAllLines(file)) {
+                assertTrue(line.startsWith("{\"table\":") && line.endsWith("}"), line);
+                distinct.add(line);
+                count++;
+            }
+        }
+        assertEquals(800, count);
+        assertEquals(8, distinct.size());
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static List<Integer> lines(List<Path> files) throws IOException {
+        List<Integer> lines = new ArrayList<>();
+        for (Path file : files) {
+            lines.add(Files.readAllLines(file).size());
+        }
+        return lines;
+    }
+
+    private static ManyToManyAuditRecord record(long userId, String auditor) {
+        return new ManyToManyAuditRecord(METADATA, AuditAction.INSERT, new Object[]{userId, "admin"},
+                1_700_000_000_000L, auditor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package io.github.akk0448.mtm.audit.spool;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventCodecTest {
+
+    private static final AuditManyToManyAssociationMetadata METADATA = new AuditManyToManyAssociationMetadata(
+            "user_roles_audit",
+            new AuditJoinColumn[]{new AuditJoinColumn("user_id", "User_id", Long.class)},
+            new AuditJoinColumn[]{new AuditJoinColumn("role_id", "roles_id", Long.class)});
+
+    private static final Map<String, AuditManyToManyAssociationMetadata> METADATA_BY_TABLE =
+            Map.of(METADATA.tableName(), METADATA);
+
+    @Test
+    void roundTripsEverySupportedValueType() throws IOException {
+        Object[] keyValues = {
+                null, Long.MIN_VALUE, Integer.MAX_VALUE, "", "\u00fcn\u00efcode key", UUID.randomUUID(), (short) -7,
+                Boolean.TRUE, new BigDecimal("12345678901234567890.000001"), LocalDate.of(1970, 1, 1),
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999), YearMonth.of(2024, 2)
+        };
+
+        ManyToManyAuditRecord decoded = roundTrip(record(AuditAction.UPDATE, keyValues, "alice"));
+
+        assertSame(METADATA, decoded.metadata());
+        assertEquals(AuditAction.UPDATE, decoded.action());
+        assertArrayEquals(keyValues, decoded.keyValues());
+        assertEquals(1_700_000_000_123L, decoded.timestamp());
+        assertEquals("alice", decoded.auditor());
+    }
+
+    @Test
+    void roundTripsEveryActionAndNullAuditor() throws IOException {
+        for (AuditAction action : AuditAction.values()) {
+            ManyToManyAuditRecord decoded = roundTrip(record(action, new Object[]{1L, 2L}, null));
+
+            assertEquals(action, decoded.action());
+            assertNull(decoded.auditor());
+        }
+    }
+
+    @Test
+    void decodesConsecutiveRecordsFromOneStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        AuditEventCodec.encode(record(AuditAction.INSERT, new Object[]{1L, 2L}, "a"), out);
+        AuditEventCodec.encode(record(AuditAction.DELETE, new Object[]{3L, 4L}, "b"), out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertArrayEquals(new Object[]{1L, 2L}, AuditEventCodec.decode(in, METADATA_BY_TABLE).keyValues());
+        assertArrayEquals(new Object[]{3L, 4L}, AuditEventCodec.decode(in, METADATA_BY_TABLE).keyValues());
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void rejectsUnknownTable() throws IOException {
+        byte[] encoded = encode(record(AuditAction.INSERT, new Object[]{1L, 2L}, "alice"));
+
+        assertThrows(InvalidObjectException.class, () -> AuditEventCodec.decode(
+                new DataInputStream(new ByteArrayInputStream(encoded)), Map.of()));
+    }
+
+    @Test
+    void rejectsNonSerializableValue() {
+        ManyToManyAuditRecord record = record(AuditAction.INSERT, new Object[]{1L, new Object()}, "alice");
+
+        assertThrows(NotSerializableException.class, () -> encode(record));
+    }
+
+    @Test
+    void readsSerializedValuesOfDeclaredColumnTypes() throws IOException {
+        AuditManyToManyAssociationMetadata metadata = new AuditManyToManyAssociationMetadata(
+                "tenant_roles_audit",
+                new AuditJoinColumn[]{new AuditJoinColumn("tenant_code", "Tenant_code", TenantCode.class)},
+                new AuditJoinColumn[]{new AuditJoinColumn("role_id", "roles_id", Long.class)});
+        ManyToManyAuditRecord record = new ManyToManyAuditRecord(metadata, AuditAction.INSERT,
+                new Object[]{new TenantCode("acme"), 2L}, 1_700_000_000_123L, "alice");
+
+        ManyToManyAuditRecord decoded = AuditEventCodec.decode(new DataInputStream(new ByteArrayInputStream(encode(record))),
+                Map.of(metadata.tableName(), metadata));
+
+        assertArrayEquals(new Object[]{new TenantCode("acme"), 2L}, decoded.keyValues());
+    }
+
+    @Test
+    void rejectsSerializedValuesOfUndeclaredTypes() throws IOException {
+        byte[] encoded = encode(record(AuditAction.INSERT, new Object[]{1L, new ArrayList<>(List.of(2L))}, "alice"));
+
+        assertThrows(InvalidClassException.class, () -> AuditEventCodec.decode(
+                new DataInputStream(new ByteArrayInputStream(encoded)), METADATA_BY_TABLE));
+    }
+
+    @Test
+    void rejectsUnknownValueTag() throws IOException {
+        byte[] encoded = encode(record(AuditAction.INSERT, new Object[]{1L}, "alice"));
+        int tagOffset = 2 + METADATA.tableName().length() + 2;
+        encoded[tagOffset] = 99;
+
+        assertThrows(StreamCorruptedException.class, () -> AuditEventCodec.decode(
+                new DataInputStream(new ByteArrayInputStream(encoded)), METADATA_BY_TABLE));
+    }
+
+    private static ManyToManyAuditRecord roundTrip(ManyToManyAuditRecord record) throws IOException {
+        return AuditEventCodec.decode(new DataInputStream(new ByteArrayInputStream(encode(record))), METADATA_BY_TABLE);
+    }
+
+    private static byte[] encode(ManyToManyAuditRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AuditEventCodec.encode(record, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static ManyToManyAuditRecord record(AuditAction action, Object[] keyValues, String auditor) {
+        return new ManyToManyAuditRecord(METADATA, action, keyValues, 1_700_000_000_123L, auditor);
+    }
+
+    private record TenantCode(String value) implements Serializable {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+package io.github.akk0448.mtm.audit.spool;
+
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.fixture.AuditTestApplication;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.scan.ManyToManyAuditScanner;
+import io.github.akk0448.mtm.audit.sink.AuditSink;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AuditTestApplication.class)
+class AuditSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private ManyToManyAuditScanner scanner;
+
+    private final List<List<ManyToManyAuditRecord>> written = new ArrayList<>();
+    private final RecordingSink sink = new RecordingSink();
+    private final AuditSinkRouter router = new AuditSinkRouter(List.of(sink), "recording", Map.of());
+    private AuditManyToManyAssociationMetadata metadata;
+
+    @BeforeEach
+    void resolveMetadata() {
+        metadata = scanner.getAuditTableMetadata().get("user_roles_audit");
+        assertNotNull(metadata);
+    }
+
+    @Test
+    void replaysUnacknowledgedEventsInOrderAndDeletesTheSegment() throws IOException {
+        AuditSpool spool = spool(4096, 100);
+        spool.append(List.of(record(1), record(2)));
+        spool.append(List.of(record(3)));
+        spool.destroy();
+
+        AuditSpool restarted = spool(4096, 100);
+        restarted.afterSingletonsInstantiated();
+        restarted.destroy();
+
+        assertEquals(List.of(1L, 2L, 3L), writtenKeys());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void doesNotReplayAcknowledgedEvents() throws IOException {
+        AuditSpool spool = spool(4096, 100);
+        spool.append(List.of(record(1), record(2))).acknowledge(2);
+        AuditSpool.Segment pending = spool.append(List.of(record(3), record(4)));
+        pending.acknowledge(1);
+        spool.destroy();
+
+        AuditSpool restarted = spool(4096, 100);
+        restarted.afterSingletonsInstantiated();
+        restarted.destroy();
+
+        assertEquals(List.of(3L, 4L), writtenKeys());
+    }
+
+    @Test
+    void deletesFullyAcknowledgedSegmentsAfterRollover() throws IOException {
+        AuditSpool spool = spool(256, 100);
+        List<AuditSpool.Segment> segments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            segments.add(spool.append(List.of(record(i))));
+        }
+        assertTrue(segmentCount() > 1);
+
+        for (AuditSpool.Segment segment : segments) {
+            segment.acknowledge(1);
+        }
+        assertEquals(1, segmentCount());
+
+        spool.destroy();
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void replaysRolledOverSegmentsInOrderAndInBatches() throws IOException {
+        AuditSpool spool = spool(256, 100);
+        for (long i = 0; i < 20; i += 2) {
+            spool.append(List.of(record(i), record(i + 1)));
+        }
+        spool.destroy();
+        assertTrue(segmentCount() > 1);
+
+        AuditSpool restarted = spool(256, 3);
+        restarted.afterSingletonsInstantiated();
+        restarted.destroy();
+
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, writtenKeys());
+        assertTrue(written.stream().allMatch(batch -> batch.size() <= 3));
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void stopsReplayAtACorruptRecord() throws IOException {
+        AuditSpool spool = spool(4096, 100);
+        spool.append(List.of(record(1), record(2), record(3)));
+        spool.destroy();
+
+        try (Stream<Path> files = Files.list(directory);
+             RandomAccessFile file = new RandomAccessFile(files.findFirst().orElseThrow().toFile(), "rw")) {
+            int firstLength = file.readInt();
+            long secondPayload = 8 + firstLength + 8;
+            file.seek(secondPayload);
+            int value = file.read();
+            file.seek(secondPayload);
+            file.write(value ^ 0xFF);
+        }
+
+        AuditSpool restarted = spool(4096, 100);
+        restarted.afterSingletonsInstantiated();
+        restarted.destroy();
+
+        assertEquals(List.of(1L), writtenKeys());
+    }
+
+    @Test
+    void rejectsEventsLargerThanASegment() throws IOException {
+        AuditSpool spool = spool(128, 100);
+        List<ManyToManyAuditRecord> events = List.of(record(1), record(2), record(3));
+
+        assertThrows(IOException.class, () -> spool.append(events));
+        spool.append(List.of(record(4))).acknowledge(1);
+        spool.destroy();
+    }
+
+    @Test
+    void retriesFailedWritesInTheBackgroundUntilTheyAreWritten() throws Exception {
+        AuditSpool spool = spool(4096, 100, Duration.ofMillis(20), 100);
+        sink.failures = 2;
+
+        AuditSpool.Segment segment = spool.append(List.of(record(1), record(2)));
+        segment.retry(List.of(record(1), record(2)));
+        AuditSpool.Segment later = spool.append(List.of(record(3)));
+        later.retry(List.of(record(3)));
+
+        assertTrue(sink.awaitWritten(3));
+        assertEquals(List.of(1L, 2L, 3L), writtenKeys());
+        spool.destroy();
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void leavesFailedWritesBeyondTheRetryCapacityForReplay() throws IOException {
+        AuditSpool spool = spool(4096, 100, Duration.ofHours(1), 1);
+
+        spool.append(List.of(record(1), record(2))).retry(List.of(record(1), record(2)));
+        spool.destroy();
+        assertTrue(written.isEmpty());
+
+        AuditSpool restarted = spool(4096, 100);
+        restarted.afterSingletonsInstantiated();
+        restarted.destroy();
+
+        assertEquals(List.of(1L, 2L), writtenKeys());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void skipsRecordsOfTablesThatAreNoLongerAudited() throws IOException {
+        AuditManyToManyAssociationMetadata retired = new AuditManyToManyAssociationMetadata(
+                "user_groups_audit",
+                new AuditJoinColumn[]{new AuditJoinColumn("user_id", "User_id", Long.class)},
+                new AuditJoinColumn[]{new AuditJoinColumn("group_id", "groups_id", Long.class)});
+        AuditSpool spool = spool(4096, 100);
+        spool.append(List.of(record(1), new ManyToManyAuditRecord(retired, AuditAction.INSERT, new Object[]{2L, 200L},
+                1_700_000_000_000L, "alice"), record(3)));
+        spool.destroy();
+
+        AuditSpool restarted = spool(4096, 100);
+        restarted.afterSingletonsInstantiated();
+        restarted.destroy();
+
+        assertEquals(List.of(1L, 3L), writtenKeys());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void quarantinesSegmentsThatCannotBeRead() throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        AuditEventCodec.encode(record(1), new DataOutputStream(payload));
+        byte[] bytes = payload.toByteArray();
+        bytes[2 + metadata.tableName().length() + 2] = 99;
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        Path segment = directory.resolve("audit-spool-00000000000000000000.seg");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(segment))) {
+            out.writeInt(bytes.length);
+            out.writeInt((int) crc.getValue());
+            out.write(bytes);
+            out.writeInt(0);
+        }
+
+        AuditSpool restarted = spool(4096, 100);
+        restarted.afterSingletonsInstantiated();
+        restarted.destroy();
+
+        assertTrue(written.isEmpty());
+        assertFalse(Files.exists(segment));
+        assertTrue(Files.exists(directory.resolve("audit-spool-00000000000000000000.seg.quarantined")));
+    }
+
+    private AuditSpool spool(int segmentSize, int batchSize) throws IOException {
+        return spool(segmentSize, batchSize, Duration.ofHours(1), 10_000);
+    }
+
+    private AuditSpool spool(int segmentSize, int batchSize, Duration retryInterval, int retryCapacity)
+            throws IOException {
+        return new AuditSpool(directory, segmentSize, scanner, router, batchSize, retryInterval, retryCapacity);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private List<Long> writtenKeys() {
+        return written.stream().flatMap(List::stream).map(record -> (Long) record.keyValues()[0]).toList();
+    }
+
+    private ManyToManyAuditRecord record(long userId) {
+        return new ManyToManyAuditRecord(metadata, AuditAction.INSERT, new Object[]{userId, 100L},
+                1_700_000_000_000L, "alice");
+    }
+
+    /**
+     * Records what it writes, after failing the given number of writes.
+     */
+    private class RecordingSink implements AuditSink {
+
+        private volatile int failures;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public synchronized void write(List<ManyToManyAuditRecord> records) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("sink unavailable");
+            }
+            written.add(new ArrayList<>(records));
+            notifyAll();
+        }
+
+        synchronized boolean awaitWritten(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (written.stream().mapToInt(List::size).sum() < count) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) return false;
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,275 @@
+package io.github.akk0448.mtm.audit.writer;
+
+import io.github.akk0448.mtm.audit.config.MtmAuditProperties;
+import io.github.akk0448.mtm.audit.enums.AuditAction;
+import io.github.akk0448.mtm.audit.enums.AuditOverflowPolicy;
+import io.github.akk0448.mtm.audit.events.ManyToManyAuditRecord;
+import io.github.akk0448.mtm.audit.metadata.AuditJoinColumn;
+import io.github.akk0448.mtm.audit.metadata.AuditManyToManyAssociationMetadata;
+import io.github.akk0448.mtm.audit.metrics.AuditMetrics;
+import io.github.akk0448.mtm.audit.sink.AuditSink;
+import io.github.akk0448.mtm.audit.sink.AuditSinkRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncAuditWriterTest {
+
+    private static final AuditManyToManyAssociationMetadata METADATA = new AuditManyToManyAssociationMetadata(
+            "user_roles_audit",
+            new AuditJoinColumn[]{new AuditJoinColumn("user_id", "User_id", Long.class)},
+            new AuditJoinColumn[]{new AuditJoinColumn("role_id", "roles_id", Long.class)});
+
+    private final RecordingSink sink = new RecordingSink();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncAuditWriter writer;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void writesQueuedEventsOffTheCallerThread() throws InterruptedException {
+        writer = writer(AuditOverflowPolicy.BLOCK, 100, 1);
+        release.countDown();
+
+        writer.submit(List.of(record(1), record(2), record(3)));
+
+        assertTrue(sink.awaitWritten(3));
+        assertEquals(List.of(1L, 2L, 3L), sink.keys());
+        assertFalse(sink.threads().contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void dropsEventsWhenTheQueueIsFull() throws InterruptedException {
+        writer = writer(AuditOverflowPolicy.DROP, 1, 1);
+        writer.submit(List.of(record(1)));
+        assertTrue(sink.awaitBlocked());
+
+        writer.submit(List.of(record(2), record(3), record(4)));
+
+        assertEquals(2, writer.getDroppedCount());
+        assertEquals(1, writer.getQueueSize());
+        release.countDown();
+        writer.shutdown();
+        assertEquals(List.of(1L, 2L), sink.keys());
+    }
+
+    @Test
+    void blocksTheCallerUntilTheQueueHasRoom() throws InterruptedException {
+        writer = writer(AuditOverflowPolicy.BLOCK, 1, 1);
+        writer.submit(List.of(record(1)));
+        assertTrue(sink.awaitBlocked());
+        writer.submit(List.of(record(2)));
+
+        Thread caller = new Thread(() -> writer.submit(List.of(record(3))));
+        caller.start();
+        awaitWaiting(caller);
+
+        release.countDown();
+        caller.join(5_000);
+        assertFalse(caller.isAlive());
+        assertTrue(sink.awaitWritten(3));
+        assertEquals(List.of(1L, 2L, 3L), sink.keys());
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void writesOnTheCallerThreadWhenTheQueueIsFull() throws InterruptedException {
+        writer = writer(AuditOverflowPolicy.CALLER_RUNS, 1, 1);
+        writer.submit(List.of(record(1)));
+        assertTrue(sink.awaitBlocked());
+        writer.submit(List.of(record(2)));
+
+        Thread caller = new Thread(() -> writer.submit(List.of(record(3))), "caller");
+        caller.start();
+        awaitWaiting(caller);
+        release.countDown();
+        caller.join(5_000);
+
+        assertTrue(sink.awaitWritten(3));
+        assertEquals(List.of(1L, 2L, 3L), sink.keys());
+        assertEquals("caller", sink.threads().get(1));
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void writesQueuedEventsOnShutdownAndLaterEventsOnTheCaller() {
+        writer = writer(AuditOverflowPolicy.BLOCK, 100, 1);
+        writer.submit(List.of(record(1)));
+        assertTrue(sink.awaitBlocked());
+        writer.submit(List.of(record(2), record(3)));
+
+        release.countDown();
+        writer.shutdown();
+        assertEquals(List.of(1L, 2L, 3L), sink.keys());
+
+        writer.submit(List.of(record(4)));
+        assertEquals(List.of(1L, 2L, 3L, 4L), sink.keys());
+        assertEquals(Thread.currentThread().getName(), sink.threads().get(3));
+    }
+
+    @Test
+    void keepsWritingAfterASinkFailure() throws InterruptedException {
+        sink.failOnce = true;
+        writer = writer(AuditOverflowPolicy.BLOCK, 100, 1);
+        release.countDown();
+
+        writer.submit(List.of(record(1)));
+        writer.submit(List.of(record(2)));
+
+        assertTrue(sink.awaitWritten(1));
+        assertEquals(List.of(2L), sink.keys());
+    }
+
+    @Test
+    void keepsThePerKeyOrderAcrossStripesAndCallerRunWrites() throws InterruptedException {
+        // slow writes keep the stripes full, so the callers write some of their events themselves
+        sink.writeMillis = 1;
+        writer = writer(AuditOverflowPolicy.CALLER_RUNS, 8, 2, 3);
+        release.countDown();
+
+        List<Thread> callers = new ArrayList<>();
+        for (int caller = 0; caller < 4; caller++) {
+            long firstKey = caller * 5L;
+            callers.add(new Thread(() -> {
+                for (int i = 0; i < 400; i++) {
+                    AuditAction action = i / 5 % 2 == 0 ? AuditAction.INSERT : AuditAction.DELETE;
+                    writer.submit(List.of(record(firstKey + i % 5, action)));
+                }
+            }, "caller-" + caller));
+        }
+        callers.forEach(Thread::start);
+        for (Thread caller : callers) {
+            caller.join(10_000);
+        }
+        writer.shutdown();
+
+        Map<Long, List<AuditAction>> actions = sink.records().stream().collect(Collectors.groupingBy(
+                record -> (Long) record.keyValues()[0], Collectors.mapping(ManyToManyAuditRecord::action,
+                        Collectors.toList())));
+        assertTrue(sink.threads().stream().anyMatch(thread -> thread.startsWith("caller-")));
+        assertEquals(20, actions.size());
+        for (List<AuditAction> keyActions : actions.values()) {
+            assertEquals(80, keyActions.size());
+            for (int i = 0; i < keyActions.size(); i++) {
+                assertEquals(i % 2 == 0 ? AuditAction.INSERT : AuditAction.DELETE, keyActions.get(i));
+            }
+        }
+    }
+
+    private AsyncAuditWriter writer(AuditOverflowPolicy overflowPolicy, int queueCapacity, int batchSize) {
+        return writer(overflowPolicy, queueCapacity, batchSize, 1);
+    }
+
+    private AsyncAuditWriter writer(AuditOverflowPolicy overflowPolicy, int queueCapacity, int batchSize,
+                                    int threads) {
+        MtmAuditProperties.Async settings = new MtmAuditProperties.Async();
+        settings.setThreads(threads);
+        settings.setQueueCapacity(queueCapacity);
+        settings.setOverflowPolicy(overflowPolicy);
+        settings.setShutdownTimeout(Duration.ofSeconds(5));
+        return new AsyncAuditWriter(new AuditSinkRouter(List.of(sink), "recording", Map.of()), settings, batchSize,
+                AuditMetrics.NOOP);
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    private static ManyToManyAuditRecord record(long userId) {
+        return record(userId, AuditAction.INSERT);
+    }
+
+    private static ManyToManyAuditRecord record(long userId, AuditAction action) {
+        return new ManyToManyAuditRecord(METADATA, action, new Object[]{userId, 100L}, 1_700_000_000_000L, "alice");
+    }
+
+    /**
+     * Records what it writes. The first write waits until the test releases it, so
+     * later events stay queued behind it.
+     */
+    private class RecordingSink implements AuditSink {
+
+        private final List<ManyToManyAuditRecord> written = new ArrayList<>();
+        private final List<String> threads = new ArrayList<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private volatile boolean failOnce;
+        private volatile long writeMillis;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void write(List<ManyToManyAuditRecord> records) {
+            blocked.countDown();
+            try {
+                release.await();
+                Thread.sleep(writeMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failOnce) {
+                failOnce = false;
+                throw new IllegalStateException("sink unavailable");
+            }
+            synchronized (this) {
+                written.addAll(records);
+                for (int i = 0; i < records.size(); i++) {
+                    threads.add(Thread.currentThread().getName());
+                }
+                notifyAll();
+            }
+        }
+
+        boolean awaitBlocked() {
+            try {
+                return blocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        synchronized boolean awaitWritten(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (written.size() < count) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) return false;
+                wait(remaining);
+            }
+            return true;
+        }
+
+        synchronized List<ManyToManyAuditRecord> records() {
+            return List.copyOf(written);
+        }
+
+        synchronized List<Long> keys() {
+            return written.stream().map(record -> (Long) record.keyValues()[0]).toList();
+        }
+
+        synchronized List<String> threads() {
+            return List.copyOf(threads);
+        }
+    }
+}
\ No newline at end of file